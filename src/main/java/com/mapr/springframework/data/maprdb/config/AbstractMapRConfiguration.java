@@ -1,10 +1,16 @@
 package com.mapr.springframework.data.maprdb.config;
+import com.mapr.springframework.data.maprdb.core.CountMode;
+import com.mapr.springframework.data.maprdb.core.DrillConnectionPool;
+import com.mapr.springframework.data.maprdb.core.MapRMetrics;
 import com.mapr.springframework.data.maprdb.core.MapROperations;
+import com.mapr.springframework.data.maprdb.core.MapRQueryLog;
 import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRConversions;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public abstract class AbstractMapRConfiguration {
@@ -17,9 +23,85 @@ public abstract class AbstractMapRConfiguration {
 
     protected abstract String getPassword();
 
+    protected int getDrillPoolSize() {
+        return DrillConnectionPool.DEFAULT_MAX_SIZE;
+    }
+
+    protected int getDrillQueryTimeout() {
+        return 0;
+    }
+
+    protected long getDrillLeaseTimeoutMillis() {
+        return DrillConnectionPool.DEFAULT_LEASE_TIMEOUT_MILLIS;
+    }
+
+    protected CountMode getCountMode() {
+        return CountMode.DRILL;
+    }
+
+    protected CountMode getPagingCountMode() {
+        return getCountMode();
+    }
+
+    protected boolean isCountMaintenanceEnabled() {
+        return false;
+    }
+
+    protected long getCountReconciliationIntervalMillis() {
+        return TimeUnit.MINUTES.toMillis(5);
+    }
+
+    protected long getCountReconciliationMinGapMillis() {
+        return TimeUnit.SECONDS.toMillis(30);
+    }
+
+    protected boolean isChangeTrackingEnabled() {
+        return false;
+    }
+
+    protected int getFindByIdBatchSize() {
+        return 0;
+    }
+
+    protected int getDecodingPipelinePrefetch() {
+        return 0;
+    }
+
+    protected int getDecodingPipelineThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    protected MapRConversions getConversions() {
+        return new MapRConversions();
+    }
+
+    protected MapRMetrics getMetrics() {
+        return MapRMetrics.NOOP;
+    }
+
+    protected MapRQueryLog getQueryLog() {
+        return null;
+    }
+
     @Bean
     public MapROperations maprOperations() {
-        return new MapRTemplate(getDatabaseName(), getHost(), getUsername(), getPassword());
+        DrillConnectionPool drillConnectionPool = DrillConnectionPool.forDrillbit(getHost(), getUsername(),
+                getPassword(), getDrillPoolSize(), getDrillQueryTimeout());
+        drillConnectionPool.setLeaseTimeoutMillis(getDrillLeaseTimeoutMillis());
+
+        MapRTemplate template = new MapRTemplate(getDatabaseName(), drillConnectionPool);
+        template.setConversions(getConversions());
+        template.setMetrics(getMetrics());
+        template.setQueryLog(getQueryLog());
+        template.setDefaultCountMode(getCountMode());
+        template.setPagingCountMode(getPagingCountMode());
+        template.setCountMaintenanceEnabled(isCountMaintenanceEnabled());
+        template.setCountReconciliationIntervalMillis(getCountReconciliationIntervalMillis());
+        template.setCountReconciliationMinGapMillis(getCountReconciliationMinGapMillis());
+        template.setChangeTrackingEnabled(isChangeTrackingEnabled());
+        template.setFindByIdBatchSize(getFindByIdBatchSize());
+        template.setDecodingPipeline(getDecodingPipelinePrefetch(), getDecodingPipelineThreads());
+        return template;
     }
 
     protected String[] getEntityBasePackages() {
@@ -0,0 +1,13 @@
+package com.mapr.springframework.data.maprdb.core;
+
+public enum CountMode {
+
+    DRILL,
+
+    NATIVE,
+
+    ESTIMATED,
+
+    MAINTAINED
+
+}
@@ -0,0 +1,379 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class DrillConnectionPool implements AutoCloseable {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(DrillConnectionPool.class);
+
+    public final static int DEFAULT_MAX_SIZE = 8;
+    public final static long DEFAULT_LEASE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    public final static int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    public final static int VALIDATION_TIMEOUT = 5;
+
+    private final Callable<java.sql.Connection> connectionFactory;
+    private final int queryTimeout;
+    private final boolean closeConnections;
+    private final Semaphore permits;
+    private final BlockingQueue<PooledConnection> idleConnections = new LinkedBlockingQueue<>();
+    private final Set<ResultSetIterator<?>> streamLeases = ConcurrentHashMap.newKeySet();
+    private volatile long leaseTimeoutMillis = DEFAULT_LEASE_TIMEOUT_MILLIS;
+    private volatile boolean closed;
+
+    public DrillConnectionPool(final Callable<java.sql.Connection> connectionFactory, final int maxSize,
+                               final int queryTimeout) {
+        this(connectionFactory, maxSize, queryTimeout, true);
+    }
+
+    private DrillConnectionPool(final Callable<java.sql.Connection> connectionFactory, final int maxSize,
+                                final int queryTimeout, final boolean closeConnections) {
+        this.connectionFactory = connectionFactory;
+        this.queryTimeout = queryTimeout;
+        this.closeConnections = closeConnections;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public static DrillConnectionPool forConnection(final java.sql.Connection connection) {
+        return new DrillConnectionPool(() -> connection, 1, 0, false);
+    }
+
+    public static DrillConnectionPool forDrillbit(final String host, final String username, final String password,
+                                                  final int maxSize, final int queryTimeout) {
+        return new DrillConnectionPool(() -> {
+            Class.forName("org.apache.drill.jdbc.Driver");
+            return java.sql.DriverManager.getConnection(String.format("jdbc:drill:drillbit=%s", host), username, password);
+        }, maxSize, queryTimeout);
+    }
+
+    public long getLeaseTimeoutMillis() {
+        return leaseTimeoutMillis;
+    }
+
+    public void setLeaseTimeoutMillis(long leaseTimeoutMillis) {
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+    }
+
+    public int getActiveStreams() {
+        return streamLeases.size();
+    }
+
+    public <R> R query(final String sql, final ResultSetExtractor<R> extractor, final Object... parameters)
+            throws SQLException {
+        PooledConnection connection = borrow();
+        try {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindParameters(statement, parameters);
+
+            R result;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                result = extractor.extract(resultSet);
+            }
+
+            release(connection, false);
+            return result;
+        } catch (SQLException | RuntimeException ex) {
+            release(connection, isBroken(connection, ex));
+            throw ex;
+        }
+    }
+
+    public <R> Stream<R> stream(final String sql, final RowMapper<R> rowMapper, final Object... parameters)
+            throws SQLException {
+        PooledConnection connection = borrow();
+        ResultSet resultSet;
+        try {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindParameters(statement, parameters);
+            resultSet = statement.executeQuery();
+        } catch (SQLException | RuntimeException ex) {
+            release(connection, isBroken(connection, ex));
+            throw ex;
+        }
+
+        ResultSetIterator<R> iterator = new ResultSetIterator<>(sql, resultSet, rowMapper, connection);
+        streamLeases.add(iterator);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    public PooledConnection borrow() throws SQLException {
+        try {
+            if(!permits.tryAcquire()) {
+                reclaimExpiredStreams();
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for Drill connection", e);
+        }
+
+        try {
+            if(closed)
+                throw new SQLException("Drill connection pool is closed");
+
+            PooledConnection connection;
+            while((connection = idleConnections.poll()) != null) {
+                if(!connection.getConnection().isClosed())
+                    return connection;
+                connection.close();
+            }
+
+            java.sql.Connection newConnection = connectionFactory.call();
+            if(newConnection.isClosed())
+                throw new SQLException("Drill connection is closed", "08003");
+            return new PooledConnection(newConnection, queryTimeout, closeConnections);
+        } catch (Exception e) {
+            permits.release();
+            if(e instanceof SQLException)
+                throw (SQLException) e;
+            throw new SQLException("Cannot open Drill connection: " + e.getMessage(), e);
+        }
+    }
+
+    public void release(final PooledConnection connection, final boolean broken) {
+        if(broken)
+            connection.close();
+        else {
+            idleConnections.offer(connection);
+            if(closed && idleConnections.remove(connection))
+                connection.close();
+        }
+
+        permits.release();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while((connection = idleConnections.poll()) != null)
+            connection.close();
+    }
+
+    // a stream that is neither exhausted nor closed keeps its connection, once the pool runs out of connections
+    // streams leased for longer than the lease timeout are closed and their connections are returned
+    private void reclaimExpiredStreams() {
+        if(leaseTimeoutMillis <= 0)
+            return;
+
+        long now = System.nanoTime();
+        for(ResultSetIterator<?> lease : streamLeases)
+            if(now - lease.leasedAt > TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMillis)) {
+                LOGGER.warn("Drill result stream of query {} was not closed within {} ms, closing it", lease.sql,
+                        leaseTimeoutMillis);
+                lease.expire();
+            }
+    }
+
+    private static boolean isBroken(PooledConnection connection, Exception ex) {
+        if(ex instanceof SQLNonTransientConnectionException || ex instanceof SQLTransientConnectionException)
+            return true;
+        if(ex instanceof SQLException && ((SQLException) ex).getSQLState() != null &&
+                ((SQLException) ex).getSQLState().startsWith("08"))
+            return true;
+
+        try {
+            return !connection.getConnection().isValid(VALIDATION_TIMEOUT);
+        } catch (SQLException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    private void bindParameters(PreparedStatement statement, Object[] parameters) throws SQLException {
+        for(int i = 0; i < parameters.length; i++) {
+            Object parameter = parameters[i];
+
+            if(parameter instanceof java.util.Date && !(parameter instanceof java.sql.Timestamp))
+                parameter = new java.sql.Timestamp(((java.util.Date) parameter).getTime());
+            else if(parameter instanceof Enum)
+                parameter = ((Enum) parameter).name();
+
+            statement.setObject(i + 1, parameter);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<R> {
+
+        R mapRow(ResultSet resultSet) throws SQLException;
+
+    }
+
+    @FunctionalInterface
+    public interface ResultSetExtractor<R> {
+
+        R extract(ResultSet resultSet) throws SQLException;
+
+    }
+
+    private class ResultSetIterator<R> implements Iterator<R> {
+
+        private final String sql;
+        private final ResultSet resultSet;
+        private final RowMapper<R> rowMapper;
+        private final PooledConnection connection;
+        private final long leasedAt = System.nanoTime();
+        private Boolean hasNext;
+        private boolean closed;
+        private boolean expired;
+
+        private ResultSetIterator(String sql, ResultSet resultSet, RowMapper<R> rowMapper,
+                                  PooledConnection connection) {
+            this.sql = sql;
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+            this.connection = connection;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            if(expired)
+                throw new IllegalStateException(String.format("Drill result stream of query %s was closed after " +
+                        "lease timeout of %s ms", sql, leaseTimeoutMillis));
+
+            if(closed)
+                return false;
+
+            if(hasNext == null) {
+                try {
+                    hasNext = resultSet.next();
+                } catch (SQLException ex) {
+                    close(isBroken(connection, ex));
+                    throw new RuntimeException(ex.getMessage(), ex);
+                }
+
+                if(!hasNext)
+                    close();
+            }
+
+            return hasNext;
+        }
+
+        @Override
+        public synchronized R next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            hasNext = null;
+            try {
+                return rowMapper.mapRow(resultSet);
+            } catch (SQLException ex) {
+                close(isBroken(connection, ex));
+                throw new RuntimeException(ex.getMessage(), ex);
+            }
+        }
+
+        private synchronized void close() {
+            close(false);
+        }
+
+        private synchronized void expire() {
+            if(closed)
+                return;
+
+            expired = true;
+            close(false);
+        }
+
+        private synchronized void close(boolean broken) {
+            if(closed)
+                return;
+
+            closed = true;
+            streamLeases.remove(this);
+            try {
+                resultSet.close();
+            } catch (SQLException ex) {
+                broken = broken || isBroken(connection, ex);
+            }
+            release(connection, broken);
+        }
+
+    }
+
+    public static class PooledConnection {
+
+        private final java.sql.Connection connection;
+        private final int queryTimeout;
+        private final boolean closeConnection;
+        private final Map<String, PreparedStatement> statements;
+
+        private PooledConnection(final java.sql.Connection connection, final int queryTimeout,
+                                 final boolean closeConnection) {
+            this.connection = connection;
+            this.queryTimeout = queryTimeout;
+            this.closeConnection = closeConnection;
+            this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if(size() > DEFAULT_STATEMENT_CACHE_SIZE) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        public java.sql.Connection getConnection() {
+            return connection;
+        }
+
+        public PreparedStatement prepareStatement(final String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+
+            if(statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                if(queryTimeout > 0)
+                    statement.setQueryTimeout(queryTimeout);
+                statements.put(sql, statement);
+            } else
+                statement.clearParameters();
+
+            return statement;
+        }
+
+        private void close() {
+            statements.values().forEach(PooledConnection::closeQuietly);
+            statements.clear();
+            if(!closeConnection)
+                return;
+
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        private static void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import org.springframework.beans.BeanUtils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class DrillRowMapper<T> implements DrillConnectionPool.RowMapper<T> {
+
+    private final MapRJsonConverter converter;
+    private final Class<T> type;
+    private final RowType rowType;
+    private volatile ColumnLabels columnLabels;
+
+    public DrillRowMapper(final MapRJsonConverter converter, final Class<T> type) {
+        this.converter = converter;
+        this.type = type;
+        this.rowType = getRowType(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        switch (rowType) {
+            case VALUE:
+                Object value = resultSet.getObject(1);
+                return value == null || type.isInstance(value) ? (T) value : converter.convert(value, type);
+            case ARRAY:
+                Object[] row = new Object[getColumnLabels(resultSet).length];
+                for(int i = 0; i < row.length; i++)
+                    row[i] = resultSet.getObject(i + 1);
+                return (T) row;
+            case PRIMITIVE_ARRAY:
+                int columns = getColumnLabels(resultSet).length;
+                Object array = Array.newInstance(type.getComponentType(), columns);
+                for(int i = 0; i < columns; i++) {
+                    Object element = resultSet.getObject(i + 1);
+                    if(element != null)
+                        Array.set(array, i, converter.convert(element, type.getComponentType()));
+                }
+                return (T) array;
+            default:
+                String[] labels = getColumnLabels(resultSet);
+                Map<String, Object> json = new HashMap<>(labels.length * 2);
+                for(int i = 0; i < labels.length; i++)
+                    json.put(labels[i], resultSet.getObject(i + 1));
+                return converter.toObject(json, type);
+        }
+    }
+
+    // Drill is schema-on-read, the columns of the same query change with the documents, so labels are resolved
+    // for every result set and only reused for its following rows
+    private String[] getColumnLabels(ResultSet resultSet) throws SQLException {
+        ColumnLabels labels = columnLabels;
+
+        if(labels == null || labels.resultSet.get() != resultSet) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            String[] names = new String[metaData.getColumnCount()];
+            for(int i = 0; i < names.length; i++)
+                names[i] = metaData.getColumnLabel(i + 1);
+            labels = new ColumnLabels(resultSet, names);
+            columnLabels = labels;
+        }
+
+        return labels.labels;
+    }
+
+    private static RowType getRowType(Class<?> type) {
+        if(type == Object[].class)
+            return RowType.ARRAY;
+        if(type.isArray() && type.getComponentType().isPrimitive())
+            return RowType.PRIMITIVE_ARRAY;
+        if(BeanUtils.isSimpleValueType(type))
+            return RowType.VALUE;
+        return RowType.OBJECT;
+    }
+
+    private enum RowType {
+        ARRAY, PRIMITIVE_ARRAY, VALUE, OBJECT
+    }
+
+    private static class ColumnLabels {
+
+        private final WeakReference<ResultSet> resultSet;
+        private final String[] labels;
+
+        private ColumnLabels(ResultSet resultSet, String[] labels) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.labels = labels;
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import org.ojai.store.DocumentStore;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+public class InstrumentedDocumentStore implements InvocationHandler {
+
+    private final DocumentStore store;
+    private final MapRMetrics metrics;
+    private final String table;
+
+    private InstrumentedDocumentStore(DocumentStore store, MapRMetrics metrics, String table) {
+        this.store = store;
+        this.metrics = metrics;
+        this.table = table;
+    }
+
+    public static DocumentStore wrap(DocumentStore store, MapRMetrics metrics, String table) {
+        return (DocumentStore) Proxy.newProxyInstance(DocumentStore.class.getClassLoader(),
+                new Class<?>[] { DocumentStore.class }, new InstrumentedDocumentStore(store, metrics, table));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if(method.getDeclaringClass() == Object.class)
+            return method.invoke(store, args);
+
+        long start = System.nanoTime();
+        try {
+            return method.invoke(store, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        } finally {
+            metrics.recordTime(method.getName(), table, System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LoggingQueryListener implements QueryListener {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(LoggingQueryListener.class);
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        LOGGER.warn("{}", event);
+    }
+
+}
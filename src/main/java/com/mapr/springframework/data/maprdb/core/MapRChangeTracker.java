@@ -0,0 +1,64 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MapRChangeTracker {
+
+    private final Map<String, Map<String, Map<String, Object>>> snapshots = new ConcurrentHashMap<>();
+
+    public void track(final String tableName, final String id, final Map<String, Object> document) {
+        if(id != null)
+            getSnapshots(tableName).put(id, document);
+    }
+
+    public Map<String, Object> getSnapshot(final String tableName, final String id) {
+        Map<String, Map<String, Object>> tableSnapshots = snapshots.get(tableName);
+        return tableSnapshots != null && id != null ? tableSnapshots.get(id) : null;
+    }
+
+    public void merge(final String tableName, final String id, final Map<String, Object> fields) {
+        Map<String, Map<String, Object>> tableSnapshots = snapshots.get(tableName);
+        if(tableSnapshots != null && id != null && fields != null)
+            tableSnapshots.computeIfPresent(id, (k, snapshot) -> {
+                Map<String, Object> merged = new LinkedHashMap<>(snapshot);
+                fields.forEach(merged::putIfAbsent);
+                return merged;
+            });
+    }
+
+    public void untrack(final String tableName, final String id) {
+        Map<String, Map<String, Object>> tableSnapshots = snapshots.get(tableName);
+        if(tableSnapshots != null && id != null)
+            tableSnapshots.remove(id);
+    }
+
+    public void clear(final String tableName) {
+        snapshots.remove(tableName);
+    }
+
+    public Set<String> getChangedFields(Map<String, Object> snapshot, Map<String, Object> document) {
+        Set<String> fields = new LinkedHashSet<>();
+
+        document.forEach((k, v) -> {
+            if(!"_id".equals(k) && (!snapshot.containsKey(k) || !Objects.equals(snapshot.get(k), v)))
+                fields.add(k);
+        });
+
+        snapshot.keySet().stream().filter(k -> !document.containsKey(k)).forEach(fields::add);
+
+        return fields;
+    }
+
+    private Map<String, Map<String, Object>> getSnapshots(final String tableName) {
+        return snapshots.computeIfAbsent(tableName,
+                t -> new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.SOFT));
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class MapRDocumentLoader {
+
+    private final Function<Collection<String>, Map<String, Map<String, Object>>> batchLoader;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+
+    private final ConcurrentMap<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private List<Map.Entry<String, CompletableFuture<Map<String, Object>>>> pending = new ArrayList<>();
+
+    public MapRDocumentLoader(final Function<Collection<String>, Map<String, Map<String, Object>>> batchLoader,
+                              final int maxBatchSize, final long batchWindow, final TimeUnit timeUnit) {
+        this.batchLoader = batchLoader;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowNanos = timeUnit.toNanos(batchWindow);
+    }
+
+    public Map<String, Object> load(final String id) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> existing = inFlight.putIfAbsent(id, future);
+
+        if(existing != null)
+            return get(existing);
+
+        List<Map.Entry<String, CompletableFuture<Map<String, Object>>>> batch = null;
+        synchronized (lock) {
+            List<Map.Entry<String, CompletableFuture<Map<String, Object>>>> current = pending;
+            current.add(new AbstractMap.SimpleImmutableEntry<>(id, future));
+
+            if(current.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if(current.size() == 1) {
+                long deadline = System.nanoTime() + batchWindowNanos;
+                long remaining;
+                try {
+                    while(pending == current && (remaining = deadline - System.nanoTime()) > 0)
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                if(pending == current)
+                    batch = takePending();
+            }
+        }
+
+        if(batch != null)
+            dispatch(batch);
+
+        return get(future);
+    }
+
+    public void invalidate(final String id) {
+        inFlight.remove(id);
+    }
+
+    public void invalidateAll() {
+        inFlight.clear();
+    }
+
+    private List<Map.Entry<String, CompletableFuture<Map<String, Object>>>> takePending() {
+        List<Map.Entry<String, CompletableFuture<Map<String, Object>>>> batch = pending;
+        pending = new ArrayList<>();
+        lock.notifyAll();
+        return batch;
+    }
+
+    private void dispatch(List<Map.Entry<String, CompletableFuture<Map<String, Object>>>> batch) {
+        Set<String> ids = new LinkedHashSet<>();
+        batch.forEach(e -> ids.add(e.getKey()));
+
+        Map<String, Map<String, Object>> documents;
+        try {
+            documents = batchLoader.apply(ids);
+        } catch (Throwable ex) {
+            batch.forEach(e -> {
+                inFlight.remove(e.getKey(), e.getValue());
+                e.getValue().completeExceptionally(ex);
+            });
+            return;
+        }
+
+        batch.forEach(e -> {
+            inFlight.remove(e.getKey(), e.getValue());
+            e.getValue().complete(documents.get(e.getKey()));
+        });
+    }
+
+    private Map<String, Object> get(CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if(ex.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ex.getCause();
+            if(ex.getCause() instanceof Error)
+                throw (Error) ex.getCause();
+            throw ex;
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import com.mapr.springframework.data.maprdb.core.mapping.LazyFieldInterceptor;
+import com.mapr.springframework.data.maprdb.core.mapping.MapREntityMetadata;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+public class MapRLazyFieldLoader {
+
+    private final DocumentLoader documentLoader;
+    private final BiFunction<Map<String, Object>, Class<?>, Object> decoder;
+
+    public MapRLazyFieldLoader(final DocumentLoader documentLoader,
+                               final BiFunction<Map<String, Object>, Class<?>, Object> decoder) {
+        this.documentLoader = documentLoader;
+        this.decoder = decoder;
+    }
+
+    public <T> List<T> wrap(final List<T> entities, final Class<T> entityClass, final String tableName) {
+        MapREntityMetadata metadata = MapREntityMetadata.get(entityClass);
+        Batch batch = new Batch(entityClass, tableName);
+
+        List<T> proxies = new ArrayList<>(entities.size());
+        for(T entity : entities) {
+            if(entity == null || metadata.hasLazyValues(entity)) {
+                proxies.add(entity);
+                continue;
+            }
+
+            T proxy = LazyFieldInterceptor.createProxy(entity, batch::load);
+            batch.interceptors.add(LazyFieldInterceptor.find(proxy));
+            proxies.add(proxy);
+        }
+
+        return proxies;
+    }
+
+    @FunctionalInterface
+    public interface DocumentLoader {
+
+        Map<String, Map<String, Object>> load(String tableName, Collection<String> ids, String[] fields);
+
+    }
+
+    private class Batch {
+
+        private final Class<?> entityClass;
+        private final String tableName;
+        private final List<LazyFieldInterceptor> interceptors = new ArrayList<>();
+
+        private Batch(Class<?> entityClass, String tableName) {
+            this.entityClass = entityClass;
+            this.tableName = tableName;
+        }
+
+        private synchronized void load(LazyFieldInterceptor requested) {
+            if(requested.isLoaded())
+                return;
+
+            Map<String, LazyFieldInterceptor> pending = new LinkedHashMap<>();
+            for(LazyFieldInterceptor interceptor : interceptors)
+                if(!interceptor.isLoaded())
+                    pending.put(Objects.toString(MapREntityMetadata.get(entityClass).getId(interceptor.getTarget())),
+                            interceptor);
+
+            Map<String, Map<String, Object>> documents = documentLoader.load(tableName, pending.keySet(),
+                    MapREntityMetadata.get(entityClass).getLazyProjection());
+
+            pending.forEach((id, interceptor) -> {
+                Map<String, Object> document = documents.get(id);
+                interceptor.apply(document != null ? decoder.apply(document, entityClass) : null);
+            });
+        }
+
+    }
+
+}
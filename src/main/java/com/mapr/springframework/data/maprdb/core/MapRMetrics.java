@@ -0,0 +1,21 @@
+package com.mapr.springframework.data.maprdb.core;
+
+public interface MapRMetrics {
+
+    MapRMetrics NOOP = new MapRMetrics() {
+    };
+
+    default boolean isEnabled() {
+        return false;
+    }
+
+    default void recordTime(String operation, String table, long nanos) {
+    }
+
+    default void recordSize(String name, String table, long size) {
+    }
+
+    default void recordQuery(String repository, String method, long nanos) {
+    }
+
+}
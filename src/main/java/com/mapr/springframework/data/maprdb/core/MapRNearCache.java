@@ -0,0 +1,175 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import com.mapr.springframework.data.maprdb.core.mapping.NearCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MapRNearCache {
+
+    private final static int MAX_SEGMENTS = 16;
+    private final static int GENERATION_STRIPES = 64;
+
+    private final long ttlNanos;
+    private final boolean cacheMisses;
+    private final Segment[] segments;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public MapRNearCache(NearCache nearCache) {
+        this(nearCache.maxSize(), nearCache.timeUnit().toNanos(nearCache.ttl()), nearCache.cacheMisses());
+    }
+
+    public MapRNearCache(final int maxSize, final long ttlNanos, final boolean cacheMisses) {
+        this.ttlNanos = ttlNanos;
+        this.cacheMisses = cacheMisses;
+
+        // small caches keep one segment so eviction stays exactly least recently used
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxSize / 64)));
+        this.segments = new Segment[segmentCount];
+        for(int i = 0; i < segmentCount; i++)
+            segments[i] = new Segment((maxSize + segmentCount - 1) / segmentCount);
+    }
+
+    public long getGeneration(final String id) {
+        return generations.get(hash(id) & (GENERATION_STRIPES - 1));
+    }
+
+    public Entry get(final String id) {
+        Segment segment = getSegment(id);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(id);
+            if(entry != null && entry.isExpired()) {
+                segment.remove(id);
+                entry = null;
+            }
+        }
+
+        if(entry != null)
+            hitCount.increment();
+        else
+            missCount.increment();
+
+        return entry;
+    }
+
+    public void put(final String id, final Map<String, Object> document) {
+        put(id, document, getGeneration(id));
+    }
+
+    public void put(final String id, final Map<String, Object> document, final long generation) {
+        if(document == null && !cacheMisses)
+            return;
+
+        Entry entry = new Entry(document, ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE);
+        Segment segment = getSegment(id);
+        synchronized (segment) {
+            if(generation != getGeneration(id))
+                return;
+
+            segment.put(id, entry);
+        }
+    }
+
+    public void invalidate(final String id) {
+        Segment segment = getSegment(id);
+        synchronized (segment) {
+            generations.incrementAndGet(hash(id) & (GENERATION_STRIPES - 1));
+            segment.remove(id);
+        }
+    }
+
+    public void clear() {
+        for(int i = 0; i < GENERATION_STRIPES; i++)
+            generations.incrementAndGet(i);
+
+        for(Segment segment : segments)
+            synchronized (segment) {
+                segment.clear();
+            }
+    }
+
+    public int size() {
+        int size = 0;
+        for(Segment segment : segments)
+            synchronized (segment) {
+                size += segment.size();
+            }
+
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private Segment getSegment(String id) {
+        return segments[(hash(id) >>> 8) & (segments.length - 1)];
+    }
+
+    private static int hash(String id) {
+        int h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private class Segment extends LinkedHashMap<String, Entry> {
+
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if(size() > maxSize) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+    public static class Entry {
+
+        private final Map<String, Object> document;
+        private final long expiresAt;
+
+        private Entry(final Map<String, Object> document, final long expiresAt) {
+            this.document = document;
+            this.expiresAt = expiresAt;
+        }
+
+        public Map<String, Object> getDocument() {
+            return document;
+        }
+
+        private boolean isExpired() {
+            return expiresAt != Long.MAX_VALUE && System.nanoTime() - expiresAt > 0;
+        }
+
+    }
+
+}
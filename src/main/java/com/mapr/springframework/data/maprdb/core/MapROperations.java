@@ -1,18 +1,30 @@
 package com.mapr.springframework.data.maprdb.core;
 
 import com.mapr.db.Table;
+import com.mapr.springframework.data.maprdb.core.aggregation.Aggregation;
+import com.mapr.springframework.data.maprdb.core.mapping.ConditionValueBinders;
 import org.ojai.store.Connection;
 import org.ojai.store.DocumentStore;
 import org.ojai.store.Query;
 import org.ojai.store.QueryCondition;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public interface MapROperations {
 
     Connection getConnection();
 
+    ConditionValueBinders getConditionValueBinders();
+
+    MapRMetrics getMetrics();
+
+    MapRQueryLog getQueryLog();
+
     <T> Table createTable(Class<T> entityClass);
 
     Table createTable(final String tableName);
@@ -63,8 +75,33 @@ public interface MapROperations {
 
     <T> long count(Class<T> entityClass);
 
+    <T> long count(Class<T> entityClass, CountMode countMode);
+
+    <T> long estimatedCount(Class<T> entityClass);
+
+    CountMode getPagingCountMode();
+
     <T> List<T> execute(QueryCondition queryCondition, Class<T> entityClass);
 
     <T> List<T> execute(Query query, Class<T> entityClass);
 
+    <T> Stream<T> stream(Query query, Class<T> entityClass);
+
+    <T> List<T> execute(Supplier<Query> query, Class<T> entityClass, MapRQueryCache queryCache, Object cacheKey);
+
+    <T> void registerQueryCache(Class<T> entityClass, MapRQueryCache queryCache);
+
+    <T, R> Stream<R> aggregate(Class<T> entityClass, Aggregation aggregation, Class<R> outputType);
+
+    <T, R> Stream<R> executeSql(Class<T> entityClass, String sql, Class<R> resultType, Object... parameters);
+
+    <T> Stream<T> parallelScan(QueryCondition queryCondition, Class<T> entityClass);
+
+    <T> Stream<T> parallelScan(QueryCondition queryCondition, Class<T> entityClass, int parallelism);
+
+    <T> void parallelScan(QueryCondition queryCondition, Class<T> entityClass, int parallelism,
+                          Consumer<Stream<T>> splitConsumer);
+
+    <T> Stream<T> parallelScan(QueryCondition queryCondition, Sort sort, Class<T> entityClass);
+
 }
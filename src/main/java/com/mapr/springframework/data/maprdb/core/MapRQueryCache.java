@@ -0,0 +1,182 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class MapRQueryCache {
+
+    private final long ttlNanos;
+    private final long maxBytes;
+    private final boolean decoded;
+    private final Map<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private long bytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public MapRQueryCache(final long ttlNanos, final long maxBytes, final boolean decoded) {
+        this.ttlNanos = ttlNanos;
+        this.maxBytes = maxBytes;
+        this.decoded = decoded;
+    }
+
+    public boolean isDecoded() {
+        return decoded;
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public Entry get(final Object key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if(entry != null && entry.isExpired()) {
+                remove(key);
+                entry = null;
+            }
+        }
+
+        if(entry != null)
+            hitCount.increment();
+        else
+            missCount.increment();
+
+        return entry;
+    }
+
+    public Entry put(final Object key, final List<Map<String, Object>> documents, final long generation) {
+        Entry entry = new Entry(documents, estimateSize(documents),
+                ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE);
+
+        if(entry.size > maxBytes)
+            return entry;
+
+        synchronized (entries) {
+            if(generation != this.generation.get())
+                return entry;
+
+            remove(key);
+            entries.put(key, entry);
+            bytes += entry.size;
+
+            Iterator<Entry> iterator = entries.values().iterator();
+            while(bytes > maxBytes && iterator.hasNext()) {
+                bytes -= iterator.next().size;
+                iterator.remove();
+                evictionCount.increment();
+            }
+        }
+
+        return entry;
+    }
+
+    public void invalidate() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getBytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private void remove(Object key) {
+        Entry removed = entries.remove(key);
+        if(removed != null)
+            bytes -= removed.size;
+    }
+
+    static long estimateSize(Object value) {
+        if(value == null)
+            return 8;
+        if(value instanceof String)
+            return 40 + 2L * ((String) value).length();
+        if(value instanceof ByteBuffer)
+            return 48 + ((ByteBuffer) value).remaining();
+        if(value instanceof byte[])
+            return 16 + ((byte[]) value).length;
+        if(value instanceof Map) {
+            long size = 48;
+            for(Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet())
+                size += 32 + estimateSize(e.getKey()) + estimateSize(e.getValue());
+            return size;
+        }
+        if(value instanceof Collection) {
+            long size = 24;
+            for(Object element : (Collection<?>) value)
+                size += 8 + estimateSize(element);
+            return size;
+        }
+        return 24;
+    }
+
+    public static class Entry {
+
+        private final List<Map<String, Object>> documents;
+        private final long size;
+        private final long expiresAt;
+        private volatile List<?> objects;
+
+        private Entry(final List<Map<String, Object>> documents, final long size, final long expiresAt) {
+            this.documents = documents;
+            this.size = size;
+            this.expiresAt = expiresAt;
+        }
+
+        public List<Map<String, Object>> getDocuments() {
+            return documents;
+        }
+
+        public List<?> getObjects(Function<List<Map<String, Object>>, List<?>> decoder) {
+            List<?> result = objects;
+            if(result == null)
+                objects = result = decoder.apply(documents);
+            return result;
+        }
+
+        private boolean isExpired() {
+            return expiresAt != Long.MAX_VALUE && System.nanoTime() - expiresAt > 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class MapRQueryLog {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(MapRQueryLog.class);
+
+    public final static String REDACTED = "***";
+    public final static Redactor NONE = (name, value) -> value;
+    public final static Redactor ALL = (name, value) -> REDACTED;
+
+    private final static ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    private final long thresholdNanos;
+    private double samplingRate;
+    private boolean explain;
+    private Redactor redactor = NONE;
+    private final List<QueryListener> listeners = new CopyOnWriteArrayList<>();
+
+    public MapRQueryLog(final long threshold, final TimeUnit timeUnit) {
+        this.thresholdNanos = timeUnit.toNanos(threshold);
+    }
+
+    public static Redactor redacting(String... names) {
+        Set<String> redacted = new HashSet<>(Arrays.asList(names));
+        return (name, value) -> redacted.contains(name) ? REDACTED : value;
+    }
+
+    public MapRQueryLog sampling(double samplingRate) {
+        if(samplingRate < 0 || samplingRate > 1)
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1");
+
+        this.samplingRate = samplingRate;
+        return this;
+    }
+
+    public MapRQueryLog explain(boolean explain) {
+        this.explain = explain;
+        return this;
+    }
+
+    public MapRQueryLog redact(Redactor redactor) {
+        this.redactor = redactor;
+        return this;
+    }
+
+    public MapRQueryLog addListener(QueryListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public <R> R withContext(String method, Map<String, Object> parameters, Supplier<R> call) {
+        Context previous = CONTEXT.get();
+        CONTEXT.set(new Context(method, parameters));
+        try {
+            return call.get();
+        } finally {
+            if(previous != null)
+                CONTEXT.set(previous);
+            else
+                CONTEXT.remove();
+        }
+    }
+
+    public void log(String operation, String table, Supplier<?> query, long documents, long totalNanos,
+                    long fetchNanos, long decodeNanos, Supplier<String> plan) {
+        if(listeners.isEmpty() || !shouldLog(totalNanos))
+            return;
+
+        Context context = CONTEXT.get();
+        Map<String, Object> parameters = Collections.emptyMap();
+        boolean redacted = false;
+
+        if(context != null) {
+            parameters = new LinkedHashMap<>();
+            for(Map.Entry<String, Object> parameter : context.parameters.entrySet()) {
+                Object value = redactor.redact(parameter.getKey(), parameter.getValue());
+                redacted |= value != parameter.getValue();
+                parameters.put(parameter.getKey(), value);
+            }
+        }
+
+        String queryText = redacted ? REDACTED : String.valueOf(query.get());
+
+        QueryEvent event = new QueryEvent(operation, context != null ? context.method : null, table, queryText,
+                parameters, documents, totalNanos, fetchNanos, decodeNanos, getPlan(plan));
+
+        for(QueryListener listener : listeners)
+            try {
+                listener.onQuery(event);
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Query listener {} failed: {}", listener, ex.getMessage());
+            }
+    }
+
+    private boolean shouldLog(long totalNanos) {
+        return totalNanos >= thresholdNanos ||
+                (samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < samplingRate);
+    }
+
+    private static String getPlan(Supplier<String> plan) {
+        if(plan == null)
+            return null;
+
+        try {
+            return plan.get();
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Redactor {
+
+        Object redact(String name, Object value);
+
+    }
+
+    private static class Context {
+
+        private final String method;
+        private final Map<String, Object> parameters;
+
+        private Context(String method, Map<String, Object> parameters) {
+            this.method = method;
+            this.parameters = parameters;
+        }
+
+    }
+
+}
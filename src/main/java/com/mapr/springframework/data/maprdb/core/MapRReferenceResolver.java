@@ -0,0 +1,143 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import com.mapr.springframework.data.maprdb.core.mapping.LazyReferenceTargetSource;
+import com.mapr.springframework.data.maprdb.core.mapping.MapREntityMetadata;
+import com.mapr.springframework.data.maprdb.core.mapping.Reference;
+import com.mapr.springframework.data.maprdb.core.mapping.ReferenceConverters;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class MapRReferenceResolver {
+
+    private final Function<Class<?>, String> tableNameResolver;
+    private final BiFunction<String, Collection<String>, Map<String, Map<String, Object>>> documentLoader;
+    private final BiFunction<Map<String, Object>, Class<?>, Object> decoder;
+
+    public MapRReferenceResolver(final Function<Class<?>, String> tableNameResolver,
+                                 final BiFunction<String, Collection<String>, Map<String, Map<String, Object>>> documentLoader,
+                                 final BiFunction<Map<String, Object>, Class<?>, Object> decoder) {
+        this.tableNameResolver = tableNameResolver;
+        this.documentLoader = documentLoader;
+        this.decoder = decoder;
+    }
+
+    public <T> List<T> resolve(final List<T> entities, final Class<T> entityClass) {
+        resolve(entities, entityClass, false);
+        return entities;
+    }
+
+    private void resolve(Collection<?> entities, Class<?> entityClass, boolean nested) {
+        MapREntityMetadata metadata = MapREntityMetadata.get(entityClass);
+
+        if(entities.isEmpty() || !metadata.hasReferences())
+            return;
+
+        Map<Class<?>, Set<String>> eagerIds = new HashMap<>();
+        Map<Class<?>, Set<String>> lazyIds = new HashMap<>();
+
+        for(Field field : metadata.getReferenceFields()) {
+            Class<?> type = MapREntityMetadata.getReferencedType(field);
+            boolean lazy = nested || field.getAnnotation(Reference.class).lazy();
+
+            for(Object entity : entities)
+                for(Object reference : getReferences(field, entity))
+                    (lazy ? lazyIds : eagerIds).computeIfAbsent(type, t -> new LinkedHashSet<>())
+                            .add(Objects.toString(ReferenceConverters.getId(reference)));
+        }
+
+        Map<Class<?>, Map<String, Object>> resolved = new HashMap<>();
+        eagerIds.forEach((type, ids) -> resolved.put(type, load(type, ids)));
+
+        lazyIds.forEach((type, ids) -> {
+            Batch batch = new Batch(type, ids);
+            Map<String, Object> proxies = resolved.computeIfAbsent(type, t -> new HashMap<>());
+            ids.forEach(id -> proxies.putIfAbsent(id, LazyReferenceTargetSource.createProxy(type, id, batch::get)));
+        });
+
+        for(Field field : metadata.getReferenceFields()) {
+            Map<String, Object> references = resolved.get(MapREntityMetadata.getReferencedType(field));
+            for(Object entity : entities)
+                replaceReferences(field, entity, references);
+        }
+    }
+
+    private Map<String, Object> load(Class<?> type, Collection<String> ids) {
+        Map<String, Map<String, Object>> documents = documentLoader.apply(tableNameResolver.apply(type), ids);
+
+        Map<String, Object> objects = new LinkedHashMap<>();
+        documents.forEach((id, document) -> {
+            if(document != null)
+                objects.put(id, decoder.apply(document, type));
+        });
+
+        resolve(objects.values(), type, true);
+
+        return objects;
+    }
+
+    private static Collection<?> getReferences(Field field, Object entity) {
+        Object value = ReflectionUtils.getField(field, entity);
+
+        if(value == null)
+            return Collections.emptyList();
+        if(value instanceof Collection)
+            return (Collection<?>) value;
+
+        return Collections.singletonList(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void replaceReferences(Field field, Object entity, Map<String, Object> references) {
+        Object value = ReflectionUtils.getField(field, entity);
+
+        if(value == null)
+            return;
+
+        if(value instanceof Collection) {
+            Collection<Object> resolved = Set.class.isAssignableFrom(field.getType()) ?
+                    new LinkedHashSet<>() : new ArrayList<>();
+
+            for(Object reference : (Collection<?>) value)
+                resolved.add(getReference(reference, references));
+
+            ReflectionUtils.setField(field, entity, resolved);
+        } else
+            ReflectionUtils.setField(field, entity, getReference(value, references));
+    }
+
+    // a missing document keeps its id-only reference, so saving the entity doesn't erase the reference
+    private static Object getReference(Object reference, Map<String, Object> references) {
+        Object object = references != null ?
+                references.get(Objects.toString(ReferenceConverters.getId(reference))) : null;
+        return object != null ? object : reference;
+    }
+
+    private class Batch {
+
+        private final Class<?> type;
+        private final Collection<String> ids;
+        private volatile Map<String, Object> objects;
+
+        private Batch(Class<?> type, Collection<String> ids) {
+            this.type = type;
+            this.ids = ids;
+        }
+
+        private Object get(String id) {
+            Map<String, Object> result = objects;
+            if(result == null) {
+                synchronized (this) {
+                    if((result = objects) == null)
+                        objects = result = load(type, ids);
+                }
+            }
+            return result.get(id);
+        }
+
+    }
+
+}
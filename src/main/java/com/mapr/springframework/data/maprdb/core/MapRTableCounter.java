@@ -0,0 +1,112 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class MapRTableCounter {
+
+    private final LongAdder delta = new LongAdder();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private volatile long base;
+    private volatile long generation;
+    private volatile boolean seeded;
+    private volatile boolean reconciled;
+    private volatile boolean dirty;
+    private volatile long reconciledAt;
+    private volatile boolean scheduled;
+    private volatile long scheduledAt;
+
+    public long get() {
+        return Math.max(0, base + delta.sum());
+    }
+
+    public void add(final long count) {
+        delta.add(count);
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public synchronized void seed(final LongSupplier estimate) {
+        if(seeded)
+            return;
+
+        base = estimate.getAsLong();
+        delta.reset();
+        seeded = true;
+    }
+
+    public synchronized void reset() {
+        generation++;
+        base = 0;
+        delta.reset();
+        seeded = true;
+        dirty = false;
+        reconciledAt = System.nanoTime();
+        reconciled = true;
+    }
+
+    // writes with unknown effect mark the counter dirty, which brings the next reconciliation forward, but never
+    // closer than minGapNanos to the previous one, so steady writes don't run exact counts back to back
+    public boolean needsReconciliation(final long intervalNanos, final long minGapNanos) {
+        long now = System.nanoTime();
+        if(scheduled && now - scheduledAt < Math.min(intervalNanos, minGapNanos))
+            return false;
+
+        return !reconciled || dirty || now - reconciledAt > intervalNanos;
+    }
+
+    public synchronized boolean scheduleReconciliation(final long intervalNanos, final long minGapNanos) {
+        if(reconciling.get() || !needsReconciliation(intervalNanos, minGapNanos))
+            return false;
+
+        scheduledAt = System.nanoTime();
+        scheduled = true;
+        return true;
+    }
+
+    public boolean isReconciling() {
+        return reconciling.get();
+    }
+
+    public boolean reconcile(final LongSupplier counter) {
+        if(!reconciling.compareAndSet(false, true))
+            return false;
+
+        try {
+            long started = generation;
+            dirty = false;
+            long pending = delta.sum();
+            long count = counter.getAsLong();
+
+            synchronized (this) {
+                if(started != generation)
+                    return false;
+
+                delta.add(-pending);
+                base = count;
+                seeded = true;
+                reconciledAt = System.nanoTime();
+                reconciled = true;
+            }
+
+            return true;
+        } catch (RuntimeException ex) {
+            dirty = true;
+            throw ex;
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+}
@@ -1,60 +1,232 @@
 package com.mapr.springframework.data.maprdb.core;
 
 import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.mapr.db.Admin;
+import com.mapr.db.FamilyDescriptor;
 import com.mapr.db.MapRDB;
 import com.mapr.db.Table;
+import com.mapr.db.TableDescriptor;
+import com.mapr.db.TabletInfo;
 
+import com.mapr.springframework.data.maprdb.core.aggregation.Aggregation;
+import com.mapr.springframework.data.maprdb.core.mapping.ConditionValueBinders;
 import com.mapr.springframework.data.maprdb.core.mapping.Document;
-import com.mapr.springframework.data.maprdb.core.mapping.MapRId;
+import com.mapr.springframework.data.maprdb.core.mapping.LazyFieldInterceptor;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRConversions;
+import com.mapr.springframework.data.maprdb.core.mapping.MapREntityMetadata;
 import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.core.mapping.NearCache;
+import com.mapr.springframework.data.maprdb.core.mapping.PrimitiveArrays;
 import org.ojai.DocumentStream;
+import org.ojai.Value;
 import org.ojai.store.*;
+import org.ojai.store.exceptions.DocumentExistsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.annotation.Id;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ClassUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import java.lang.reflect.Field;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-public class MapRTemplate implements MapROperations {
+public class MapRTemplate implements MapROperations, DisposableBean {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(MapRTemplate.class);
 
+    public final static String TABLE_PLACEHOLDER = "#{table}";
+    public final static int DEFAULT_SCAN_THREADS = 8;
+    public final static int SCAN_BUFFER_SIZE = 256;
+    public final static int STREAM_CHUNK_SIZE = 100;
+
     private final String databaseName;
     private org.ojai.store.Connection ojaiConnection;
-    private java.sql.Connection drillConnection;
+    private final DrillConnectionPool drillConnectionPool;
     private MapRJsonConverter converter;
+    private MapRMetrics metrics = MapRMetrics.NOOP;
+    private MapRQueryLog queryLog;
+    private final MapRChangeTracker changeTracker = new MapRChangeTracker();
+    private boolean changeTrackingEnabled;
+    private final Map<String, MapRNearCache> nearCaches = new ConcurrentHashMap<>();
+    private final Map<String, Map<List<String>, MapRDocumentLoader>> documentLoaders = new ConcurrentHashMap<>();
+    private final Map<String, Set<MapRQueryCache>> queryCaches = new ConcurrentHashMap<>();
+    private final Map<String, MapRTableCounter> tableCounters = new ConcurrentHashMap<>();
+    private boolean countMaintenanceEnabled;
+    private long countReconciliationIntervalMillis = TimeUnit.MINUTES.toMillis(5);
+    private long countReconciliationMinGapMillis = TimeUnit.SECONDS.toMillis(30);
+    private CountMode pagingCountMode;
+    private int findByIdBatchSize;
+    private long findByIdBatchWindowMicros = 1000;
+    private CountMode defaultCountMode;
+    private Executor scanExecutor;
+    private ExecutorService defaultScanExecutor;
+    private int pipelinePrefetch;
+    private ExecutorService pipelineFetchExecutor;
+    private ExecutorService pipelineDecoderExecutor;
+    private final Map<Class<?>, DrillRowMapper<?>> rowMappers = new ConcurrentReferenceHashMap<>();
+    private final MapRReferenceResolver referenceResolver = new MapRReferenceResolver(this::getTablePath,
+            (t, ids) -> findDocumentsById(t, ids, null, null), (d, c) -> toObject(d, c, getTablePath(c)));
+    private final MapRLazyFieldLoader lazyFieldLoader = new MapRLazyFieldLoader(this::findLazyDocuments,
+            (d, c) -> converter.toObject(d, c));
 
     public MapRTemplate(final String databaseName, final String host, final String username, final String password) {
-        converter = new MapRJsonConverter();
-        this.databaseName = databaseName;
-        this.ojaiConnection = getNewOjaiConnection();
-        this.drillConnection = getNewDrillConnection(host, username, password);
+        this(databaseName, DrillConnectionPool.forDrillbit(host, username, password,
+                DrillConnectionPool.DEFAULT_MAX_SIZE, 0));
+    }
+
+    public MapRTemplate(final String databaseName, final DrillConnectionPool drillConnectionPool) {
+        this(databaseName, getNewOjaiConnection(), drillConnectionPool);
     }
 
     protected MapRTemplate(final String databaseName, org.ojai.store.Connection ojaiConnection,
                            java.sql.Connection drillConnection) {
+        this(databaseName, ojaiConnection,
+                drillConnection != null ? DrillConnectionPool.forConnection(drillConnection) : null);
+    }
+
+    protected MapRTemplate(final String databaseName, org.ojai.store.Connection ojaiConnection,
+                           DrillConnectionPool drillConnectionPool) {
         converter = new MapRJsonConverter();
         this.databaseName = databaseName;
         this.ojaiConnection = ojaiConnection;
-        this.drillConnection = drillConnection;
+        this.drillConnectionPool = drillConnectionPool;
+        this.defaultCountMode = drillConnectionPool != null ? CountMode.DRILL : CountMode.NATIVE;
     }
 
-    private org.ojai.store.Connection getNewOjaiConnection() {
+    private static org.ojai.store.Connection getNewOjaiConnection() {
         return DriverManager.getConnection("ojai:mapr:");
     }
 
-    private java.sql.Connection getNewDrillConnection(String host, String username, String password) {
-        try {
-            Class.forName("org.apache.drill.jdbc.Driver");
-            return java.sql.DriverManager.getConnection(String.format("jdbc:drill:drillbit=%s", host), username, password);
-        } catch (SQLException | ClassNotFoundException e) {
-            return null;
+    public boolean isChangeTrackingEnabled() {
+        return changeTrackingEnabled;
+    }
+
+    public void setChangeTrackingEnabled(boolean changeTrackingEnabled) {
+        this.changeTrackingEnabled = changeTrackingEnabled;
+    }
+
+    public int getFindByIdBatchSize() {
+        return findByIdBatchSize;
+    }
+
+    public void setFindByIdBatchSize(int findByIdBatchSize) {
+        this.findByIdBatchSize = findByIdBatchSize;
+    }
+
+    public long getFindByIdBatchWindowMicros() {
+        return findByIdBatchWindowMicros;
+    }
+
+    public void setFindByIdBatchWindowMicros(long findByIdBatchWindowMicros) {
+        this.findByIdBatchWindowMicros = findByIdBatchWindowMicros;
+    }
+
+    public CountMode getDefaultCountMode() {
+        return defaultCountMode;
+    }
+
+    public void setDefaultCountMode(CountMode defaultCountMode) {
+        this.defaultCountMode = defaultCountMode;
+    }
+
+    public boolean isCountMaintenanceEnabled() {
+        return countMaintenanceEnabled;
+    }
+
+    public void setCountMaintenanceEnabled(boolean countMaintenanceEnabled) {
+        this.countMaintenanceEnabled = countMaintenanceEnabled;
+    }
+
+    public long getCountReconciliationIntervalMillis() {
+        return countReconciliationIntervalMillis;
+    }
+
+    public void setCountReconciliationIntervalMillis(long countReconciliationIntervalMillis) {
+        this.countReconciliationIntervalMillis = countReconciliationIntervalMillis;
+    }
+
+    public long getCountReconciliationMinGapMillis() {
+        return countReconciliationMinGapMillis;
+    }
+
+    public void setCountReconciliationMinGapMillis(long countReconciliationMinGapMillis) {
+        this.countReconciliationMinGapMillis = countReconciliationMinGapMillis;
+    }
+
+    @Override
+    public CountMode getPagingCountMode() {
+        return pagingCountMode != null ? pagingCountMode : defaultCountMode;
+    }
+
+    public void setPagingCountMode(CountMode pagingCountMode) {
+        this.pagingCountMode = pagingCountMode;
+    }
+
+    public synchronized Executor getScanExecutor() {
+        if(scanExecutor == null) {
+            defaultScanExecutor = Executors.newFixedThreadPool(DEFAULT_SCAN_THREADS, getThreadFactory("maprdb-scan-"));
+            scanExecutor = defaultScanExecutor;
+        }
+
+        return scanExecutor;
+    }
+
+    public synchronized void setScanExecutor(Executor scanExecutor) {
+        this.scanExecutor = scanExecutor;
+    }
+
+    public int getPipelinePrefetch() {
+        return pipelinePrefetch;
+    }
+
+    public synchronized void setDecodingPipeline(int prefetch, int decoderThreads) {
+        if(pipelineFetchExecutor != null) {
+            pipelineFetchExecutor.shutdown();
+            pipelineDecoderExecutor.shutdown();
+            pipelineFetchExecutor = null;
+            pipelineDecoderExecutor = null;
         }
+
+        if(prefetch > 0 && decoderThreads > 0) {
+            pipelineFetchExecutor = Executors.newCachedThreadPool(getThreadFactory("maprdb-fetch-"));
+            pipelineDecoderExecutor = Executors.newFixedThreadPool(decoderThreads, getThreadFactory("maprdb-decoder-"));
+        }
+
+        this.pipelinePrefetch = pipelineFetchExecutor != null ? prefetch : 0;
+    }
+
+    @Override
+    public void destroy() {
+        setDecodingPipeline(0, 0);
+        synchronized (this) {
+            if(defaultScanExecutor != null)
+                defaultScanExecutor.shutdown();
+        }
+        if(drillConnectionPool != null)
+            drillConnectionPool.close();
+    }
+
+    public <T> MapRNearCache getNearCache(Class<T> entityClass) {
+        return nearCaches.get(getTablePath(entityClass));
     }
 
     @Override
@@ -62,9 +234,49 @@ public class MapRTemplate implements MapROperations {
         return ojaiConnection;
     }
 
+    @Override
+    public ConditionValueBinders getConditionValueBinders() {
+        return converter.getConditionValueBinders();
+    }
+
+    public void setConversions(MapRConversions conversions) {
+        this.converter = new MapRJsonConverter(conversions);
+        rowMappers.clear();
+    }
+
+    @Override
+    public MapRMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MapRMetrics metrics) {
+        this.metrics = metrics != null ? metrics : MapRMetrics.NOOP;
+    }
+
+    @Override
+    public MapRQueryLog getQueryLog() {
+        return queryLog;
+    }
+
+    public void setQueryLog(MapRQueryLog queryLog) {
+        this.queryLog = queryLog;
+    }
+
     @Override
     public <T> Table createTable(Class<T> entityClass) {
-        return createTable(getTablePath(entityClass));
+        MapREntityMetadata metadata = MapREntityMetadata.get(entityClass);
+        if(!metadata.hasColumnFamilies())
+            return createTable(getTablePath(entityClass));
+
+        TableDescriptor descriptor = newTableDescriptor(getPath(getTablePath(entityClass)));
+        metadata.getColumnFamilies().forEach((field, family) ->
+                descriptor.addFamily(newFamilyDescriptor(family.value(), metadata.getFieldName(field))
+                        .setTTL(family.ttl())
+                        .setInMemory(family.inMemory())));
+
+        try (Admin admin = newAdmin()) {
+            return admin.createTable(descriptor);
+        }
     }
 
     @Override
@@ -99,7 +311,14 @@ public class MapRTemplate implements MapROperations {
 
     @Override
     public DocumentStore getStore(String storeName) {
-        return ojaiConnection.getStore(getPath(storeName));
+        if(!metrics.isEnabled())
+            return ojaiConnection.getStore(getPath(storeName));
+
+        long start = System.nanoTime();
+        DocumentStore store = ojaiConnection.getStore(getPath(storeName));
+        metrics.recordTime("open", storeName, System.nanoTime() - start);
+
+        return InstrumentedDocumentStore.wrap(store, metrics, storeName);
     }
 
     @Override
@@ -109,8 +328,25 @@ public class MapRTemplate implements MapROperations {
 
     @Override
     public <T> Optional<T> findById(Object id, Class<T> entityClass, final String tableName) {
-        org.ojai.Document document = getStore(entityClass).findById(id.toString());
-        return Optional.ofNullable(document != null ? converter.toObject(document.asMap(), entityClass) : null);
+        String documentId = id.toString();
+        MapRNearCache nearCache = getNearCache(entityClass, tableName);
+
+        MapRNearCache.Entry entry = nearCache != null ? nearCache.get(documentId) : null;
+        if(entry != null)
+            return Optional.ofNullable(entry.getDocument())
+                    .map(json -> postProcess(toObject(json, entityClass, tableName), entityClass, tableName));
+
+        long generation = nearCache != null ? nearCache.getGeneration(documentId) : 0;
+        String[] projection = MapREntityMetadata.get(entityClass).getProjection();
+        Map<String, Object> json = findByIdBatchSize > 0 ?
+                getDocumentLoader(tableName, projection, entityClass).load(documentId) :
+                findDocumentById(tableName, documentId, projection, entityClass);
+
+        if(nearCache != null)
+            nearCache.put(documentId, json, generation);
+
+        return Optional.ofNullable(json)
+                .map(j -> postProcess(toObject(j, entityClass, tableName), entityClass, tableName));
     }
 
     @Override
@@ -120,20 +356,26 @@ public class MapRTemplate implements MapROperations {
 
     @Override
     public <T> List<T> findAll(Class<T> entityClass, final String tableName) {
-        return execute(ojaiConnection.newQuery().build(), entityClass, tableName);
+        Query query = ojaiConnection.newQuery();
+
+        String[] projection = MapREntityMetadata.get(entityClass).getProjection();
+        if(projection != null)
+            query.select(projection);
+
+        return execute(query.build(), entityClass, tableName);
     }
 
     @Override
     public <T> T insert(T objectToSave) {
-        return insert(objectToSave, getTablePath(objectToSave.getClass()));
+        return insert(objectToSave, getTablePath(ClassUtils.getUserClass(objectToSave)));
     }
 
     @Override
     public <T> T insert(T objectToSave, final String tableName) {
-        Class idClass = getIdType(objectToSave.getClass());
+        Class idClass = getIdType(ClassUtils.getUserClass(objectToSave));
         DocumentStore store = getStore(tableName);
 
-        T object = insert(objectToSave, idClass, store);
+        T object = insert(objectToSave, idClass, store, tableName);
 
         store.flush();
         store.close();
@@ -141,22 +383,37 @@ public class MapRTemplate implements MapROperations {
         return object;
     }
 
-    private <T> T insert(T objectToSave, Class idClass, DocumentStore store) {
+    private <T> T insert(T objectToSave, Class idClass, DocumentStore store, String tableName) {
+        objectToSave = (T) LazyFieldInterceptor.unwrap(objectToSave, true);
         org.ojai.Document document = getDocumentWithId(objectToSave, idClass);
+
+        MapREntityMetadata metadata = MapREntityMetadata.get(objectToSave.getClass());
+        boolean initialVersion = metadata.isVersioned() && metadata.isNew(objectToSave);
+        if(initialVersion)
+            document.set(metadata.getFieldName(metadata.getVersionField()), metadata.getInitialVersion());
+
         store.insert(document);
-        return (T) converter.toObject(document.asMap(), objectToSave.getClass());
+        if(initialVersion)
+            metadata.setVersion(objectToSave, metadata.getInitialVersion());
+        adjustCount(tableName, 1);
+        invalidateCaches(tableName, document.getIdString());
+
+        return (T) toObject(asMap(document, objectToSave.getClass()), objectToSave.getClass(), tableName);
     }
 
     @Override
     public <T> List<T> insert(Iterable<T> objectsToSave) {
         Iterator<T> itr = objectsToSave.iterator();
         if(itr.hasNext()) {
-            Class type = itr.next().getClass();
-            DocumentStore store = getStore(getTablePath(type));
+            Class type = ClassUtils.getUserClass(itr.next());
+            String tableName = getTablePath(type);
+            DocumentStore store = getStore(tableName);
             Class idClass = getIdType(type);
 
-            List<T> list = StreamSupport.stream(objectsToSave.spliterator(), false).map(o -> insert(o, idClass, store))
+            List<T> list = StreamSupport.stream(objectsToSave.spliterator(), false)
+                    .map(o -> insert(o, idClass, store, tableName))
                     .collect(Collectors.toList());
+            recordSize("batch", tableName, list.size());
 
             store.flush();
             store.close();
@@ -168,15 +425,15 @@ public class MapRTemplate implements MapROperations {
 
     @Override
     public <T> T save(T objectToSave) {
-        return save(objectToSave, getTablePath(objectToSave.getClass()));
+        return save(objectToSave, getTablePath(ClassUtils.getUserClass(objectToSave)));
     }
 
     @Override
     public <T> T save(T objectToSave, final String tableName) {
-        Class idClass = getIdType(objectToSave.getClass());
+        Class idClass = getIdType(ClassUtils.getUserClass(objectToSave));
         DocumentStore store = getStore(tableName);
 
-        T object = save(objectToSave, idClass, store);
+        T object = save(objectToSave, idClass, store, tableName);
 
         store.flush();
         store.close();
@@ -184,24 +441,96 @@ public class MapRTemplate implements MapROperations {
         return object;
     }
 
-    private <T> T save(T objectToSave, Class idClass, DocumentStore store) {
+    private <T> T save(T objectToSave, Class idClass, DocumentStore store, String tableName) {
+        objectToSave = (T) LazyFieldInterceptor.unwrap(objectToSave, true);
         org.ojai.Document document = getDocumentWithId(objectToSave, idClass);
 
-        store.insertOrReplace(document);
+        Map<String, Object> snapshot = changeTrackingEnabled ?
+                changeTracker.getSnapshot(tableName, document.getIdString()) : null;
+
+        MapREntityMetadata metadata = MapREntityMetadata.get(objectToSave.getClass());
+
+        if(metadata.isVersioned()) {
+            saveVersioned(objectToSave, metadata, document, snapshot, store, tableName);
+        } else if(snapshot != null) {
+            DocumentMutation mutation = getMutation(snapshot, document);
+            if(mutation != null)
+                store.update(document.getIdString(), mutation);
+        } else {
+            store.insertOrReplace(document);
+            markCountDirty(tableName);
+        }
+
+        invalidateCaches(tableName, document.getIdString());
+
+        return (T) toObject(asMap(document, objectToSave.getClass()), objectToSave.getClass(), tableName);
+    }
+
+    private <T> void saveVersioned(T objectToSave, MapREntityMetadata metadata, org.ojai.Document document,
+                                   Map<String, Object> snapshot, DocumentStore store, String tableName) {
+        String versionName = metadata.getFieldName(metadata.getVersionField());
+        Number version = metadata.getVersion(objectToSave);
+
+        if(metadata.isNew(objectToSave)) {
+            document.set(versionName, metadata.getInitialVersion());
+            try {
+                store.insert(document);
+            } catch (DocumentExistsException ex) {
+                throw new OptimisticLockingFailureException(String.format("Document with id %s already exists in table %s",
+                        document.getIdString(), tableName), ex);
+            }
+            metadata.setVersion(objectToSave, metadata.getInitialVersion());
+            adjustCount(tableName, 1);
+            return;
+        }
+
+        document.set(versionName, version.longValue() + 1);
+
+        QueryCondition condition = ojaiConnection.newCondition()
+                .is(versionName, QueryCondition.Op.EQUAL, version.longValue()).build();
+
+        boolean saved = snapshot != null ?
+                store.checkAndMutate(document.getIdString(), condition, getMutation(snapshot, document)) :
+                store.checkAndReplace(document.getIdString(), condition, document);
+
+        if(!saved)
+            throw new OptimisticLockingFailureException(String.format("Document with id %s and version %s in table %s " +
+                    "was modified or removed concurrently", document.getIdString(), version, tableName));
+
+        metadata.setVersion(objectToSave, version.longValue() + 1);
+    }
+
+    private DocumentMutation getMutation(Map<String, Object> snapshot, org.ojai.Document document) {
+        Set<String> changedFields = changeTracker.getChangedFields(snapshot, document.asMap());
+
+        if(changedFields.isEmpty())
+            return null;
+
+        DocumentMutation mutation = ojaiConnection.newMutation();
+        for(String field : changedFields) {
+            Value value = document.getValue(field);
+            if(value != null)
+                mutation.setOrReplace(field, value);
+            else
+                mutation.delete(field);
+        }
 
-        return (T) converter.toObject(document.asMap(), objectToSave.getClass());
+        return mutation;
     }
 
     @Override
     public <T> List<T> save(Iterable<T> objectsToSave) {
         Iterator<T> itr = objectsToSave.iterator();
         if(itr.hasNext()) {
-            Class type = itr.next().getClass();
-            DocumentStore store = getStore(getTablePath(type));
+            Class type = ClassUtils.getUserClass(itr.next());
+            String tableName = getTablePath(type);
+            DocumentStore store = getStore(tableName);
             Class idClass = getIdType(type);
 
-            List<T> list = StreamSupport.stream(objectsToSave.spliterator(), false).map(o -> save(o, idClass, store))
+            List<T> list = StreamSupport.stream(objectsToSave.spliterator(), false)
+                    .map(o -> save(o, idClass, store, tableName))
                     .collect(Collectors.toList());
+            recordSize("batch", tableName, list.size());
 
             store.flush();
             store.close();
@@ -213,13 +542,16 @@ public class MapRTemplate implements MapROperations {
 
     @Override
     public void remove(Object object) {
-        remove(object, getTablePath(object.getClass()));
+        remove(object, getTablePath(ClassUtils.getUserClass(object)));
     }
 
     @Override
     public void remove(Object object, final String tableName) {
         DocumentStore store = getStore(tableName);
-        store.delete(ojaiConnection.newDocument(converter.toJson(object)));
+        org.ojai.Document document = newDocument(object);
+        delete(store, tableName, document.getIdString());
+        changeTracker.untrack(tableName, document.getIdString());
+        invalidateCaches(tableName, document.getIdString());
         store.flush();
         store.close();
     }
@@ -232,7 +564,9 @@ public class MapRTemplate implements MapROperations {
     @Override
     public <T> void removeById(Object id, Class<T> entityClass, final String tableName) {
         DocumentStore store = getStore(tableName);
-        store.delete(id.toString());
+        delete(store, tableName, id.toString());
+        changeTracker.untrack(tableName, id.toString());
+        invalidateCaches(tableName, id.toString());
         store.flush();
         store.close();
     }
@@ -241,10 +575,16 @@ public class MapRTemplate implements MapROperations {
     public <T> void remove(Iterable<T> objectsToDelete) {
         Iterator<T> itr = objectsToDelete.iterator();
         if(itr.hasNext()) {
-            Class type = itr.next().getClass();
-            DocumentStore store = getStore(getTablePath(type));
+            Class type = ClassUtils.getUserClass(itr.next());
+            String tableName = getTablePath(type);
+            DocumentStore store = getStore(tableName);
             StreamSupport.stream(objectsToDelete.spliterator(), false)
-                    .forEach(o -> store.delete(ojaiConnection.newDocument(converter.toJson(o))));
+                    .map(this::newDocument)
+                    .forEach(d -> {
+                        delete(store, tableName, d.getIdString());
+                        changeTracker.untrack(tableName, d.getIdString());
+                        invalidateCaches(tableName, d.getIdString());
+                    });
             store.flush();
             store.close();
         }
@@ -256,6 +596,12 @@ public class MapRTemplate implements MapROperations {
 
         DocumentStream dc = store.find(ojaiConnection.newQuery().build());
         store.delete(dc);
+        changeTracker.clear(getTablePath(entityClass));
+        Optional.ofNullable(nearCaches.get(getTablePath(entityClass))).ifPresent(MapRNearCache::clear);
+        Optional.ofNullable(documentLoaders.get(getTablePath(entityClass)))
+                .ifPresent(l -> l.values().forEach(MapRDocumentLoader::invalidateAll));
+        invalidateQueryCaches(getTablePath(entityClass));
+        Optional.ofNullable(tableCounters.get(getTablePath(entityClass))).ifPresent(MapRTableCounter::reset);
 
         store.flush();
         store.close();
@@ -263,20 +609,253 @@ public class MapRTemplate implements MapROperations {
 
     @Override
     public <T> long count(Class<T> entityClass) {
+        return count(entityClass, defaultCountMode);
+    }
+
+    @Override
+    public <T> long count(Class<T> entityClass, CountMode countMode) {
+        long start = startTimer();
+        try {
+            switch (countMode) {
+                case NATIVE:
+                    return countNative(getTablePath(entityClass));
+                case ESTIMATED:
+                    return countEstimated(getTablePath(entityClass));
+                case MAINTAINED:
+                    return estimatedCount(entityClass);
+                default:
+                    return countDrill(entityClass);
+            }
+        } finally {
+            if(start != 0L)
+                stopTimer("count." + countMode.name().toLowerCase(Locale.ROOT), getTablePath(entityClass), start);
+        }
+    }
+
+    @Override
+    public <T> long estimatedCount(Class<T> entityClass) {
+        String tableName = getTablePath(entityClass);
+
+        if(!countMaintenanceEnabled)
+            return countEstimated(tableName);
+
+        MapRTableCounter counter = tableCounters.computeIfAbsent(tableName, t -> new MapRTableCounter());
+
+        if(!counter.isSeeded())
+            counter.seed(() -> countEstimated(tableName));
+
+        if(counter.scheduleReconciliation(TimeUnit.MILLISECONDS.toNanos(countReconciliationIntervalMillis),
+                TimeUnit.MILLISECONDS.toNanos(countReconciliationMinGapMillis)))
+            CompletableFuture.runAsync(() -> counter.reconcile(() -> countExact(entityClass)), getScanExecutor())
+                    .exceptionally(ex -> {
+                        LOGGER.warn("Cannot reconcile count of table {}: {}", tableName, ex.getMessage());
+                        return null;
+                    });
+
+        return counter.get();
+    }
+
+    private <T> long countExact(Class<T> entityClass) {
+        return drillConnectionPool != null ? countDrill(entityClass) : countNative(getTablePath(entityClass));
+    }
+
+    private void adjustCount(String tableName, long count) {
+        MapRTableCounter counter = tableCounters.get(tableName);
+        if(counter != null)
+            counter.add(count);
+    }
+
+    private void markCountDirty(String tableName) {
+        MapRTableCounter counter = tableCounters.get(tableName);
+        if(counter != null)
+            counter.markDirty();
+    }
+
+    private void delete(DocumentStore store, String tableName, String id) {
+        MapRTableCounter counter = tableCounters.get(tableName);
+        if(counter == null) {
+            store.delete(id);
+            return;
+        }
+
+        // checkAndDelete reports whether the document existed, so only actual deletes are counted
+        if(store.checkAndDelete(id, ojaiConnection.newCondition().exists("_id").build()))
+            counter.add(-1);
+    }
+
+    private <T> long countDrill(Class<T> entityClass) {
         try {
-            Statement statement = drillConnection.createStatement();
-            String query = String.format("SELECT COUNT(*) FROM dfs.`%s`", getPath(getTablePath(entityClass)));
-            ResultSet resultSet = statement.executeQuery(query);
-            resultSet.next();
-            long totalRow = Long.parseLong(resultSet.getString(1));
-            statement.close();
-            return totalRow;
+            String query = String.format("SELECT COUNT(*) FROM %s", getDrillTableName(entityClass));
+            return getDrillConnectionPool().query(query, resultSet -> {
+                resultSet.next();
+                return resultSet.getLong(1);
+            });
         } catch (SQLException ex) {
             LOGGER.error(ex.getMessage());
             throw new RuntimeException(ex.getMessage(), ex.getCause());
         }
     }
 
+    @Override
+    public <T, R> Stream<R> aggregate(Class<T> entityClass, Aggregation aggregation, Class<R> outputType) {
+        long start = startTimer();
+        try {
+            Stream<R> stream = getDrillConnectionPool().stream(aggregation.toSql(getDrillTableName(entityClass)),
+                    getRowMapper(outputType), aggregation.getParameters());
+
+            if(start == 0L)
+                return stream;
+
+            return whenDone(stream, () -> stopTimer("drill.aggregate", getTablePath(entityClass), start));
+        } catch (SQLException ex) {
+            stopTimer("drill.aggregate", getTablePath(entityClass), start);
+            LOGGER.error(ex.getMessage());
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public <T, R> Stream<R> executeSql(Class<T> entityClass, String sql, Class<R> resultType, Object... parameters) {
+        String query = sql.replace(TABLE_PLACEHOLDER, getDrillTableName(entityClass));
+        DrillRowMapper<R> rowMapper = getRowMapper(resultType);
+
+        MapRQueryLog queryLog = this.queryLog;
+        long queryStart = queryLog != null ? System.nanoTime() : 0L;
+        long start = startTimer();
+        try {
+            Stream<R> stream = getDrillConnectionPool().stream(query, rowMapper, parameters);
+            if(queryLog == null && start == 0L)
+                return stream;
+
+            LongAdder rows = new LongAdder();
+            return whenDone(queryLog != null ? stream.peek(r -> rows.increment()) : stream, () -> {
+                stopTimer("drill.sql", getTablePath(entityClass), start);
+                if(queryLog != null) {
+                    long nanos = System.nanoTime() - queryStart;
+                    queryLog.log("sql", getTablePath(entityClass), () -> query, rows.sum(), nanos, nanos, 0, null);
+                }
+            });
+        } catch (SQLException ex) {
+            stopTimer("drill.sql", getTablePath(entityClass), start);
+            LOGGER.error(ex.getMessage());
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+    }
+
+    // Drill streams keep a pooled connection until they are exhausted or closed, they are measured until then
+    private static <R> Stream<R> whenDone(Stream<R> stream, Runnable handler) {
+        return closingStream(stream.iterator(), Spliterator.ORDERED, () -> {
+            try {
+                stream.close();
+            } finally {
+                handler.run();
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> DrillRowMapper<R> getRowMapper(Class<R> resultType) {
+        return (DrillRowMapper<R>) rowMappers.computeIfAbsent(resultType, t -> new DrillRowMapper<>(converter, t));
+    }
+
+    private DrillConnectionPool getDrillConnectionPool() {
+        if(drillConnectionPool == null)
+            throw new IllegalStateException("Drill connection is not configured");
+
+        return drillConnectionPool;
+    }
+
+    private <T> String getDrillTableName(Class<T> entityClass) {
+        return String.format("dfs.`%s`", getPath(getTablePath(entityClass)));
+    }
+
+    private long countNative(String tableName) {
+        List<CompletableFuture<Long>> counts = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+
+        for(TabletInfo tablet : getTabletInfos(tableName)) {
+            CompletableFuture<Long> count = new CompletableFuture<>();
+            AtomicBoolean claimed = new AtomicBoolean();
+            Runnable task = () -> {
+                if(!claimed.compareAndSet(false, true))
+                    return;
+                try {
+                    count.complete(countDocuments(tableName, tablet.getCondition()));
+                } catch (Throwable ex) {
+                    count.completeExceptionally(ex);
+                }
+            };
+
+            counts.add(count);
+            tasks.add(task);
+            try {
+                getScanExecutor().execute(task);
+            } catch (RejectedExecutionException ignored) {
+            }
+        }
+
+        // tablets not picked up by the scan executor yet are counted by the caller, so a count started from
+        // a scan thread (e.g. by reconciliation) never waits for a free thread of the same executor
+        tasks.forEach(Runnable::run);
+
+        // every tablet is done and has released its store before a failure is rethrown
+        CompletableFuture.allOf(counts.toArray(new CompletableFuture<?>[0])).handle((v, ex) -> null).join();
+
+        return counts.stream().mapToLong(CompletableFuture::join).sum();
+    }
+
+    private long countDocuments(String tableName, QueryCondition condition) {
+        Query query = ojaiConnection.newQuery().select("_id");
+        if(condition != null)
+            query.where(condition);
+
+        DocumentStore store = getStore(tableName);
+        try {
+            DocumentStream documentStream = store.find(query.build());
+            try {
+                long count = 0;
+                for(Iterator<org.ojai.Document> itr = documentStream.iterator(); itr.hasNext(); itr.next())
+                    count++;
+
+                recordSize("rows.scanned", tableName, count);
+                return count;
+            } finally {
+                documentStream.close();
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    private long countEstimated(String tableName) {
+        return Arrays.stream(getTabletInfos(tableName)).mapToLong(TabletInfo::getEstimatedNumRows).sum();
+    }
+
+    private TabletInfo[] getTabletInfos(String tableName) {
+        Table table = getTable(getPath(tableName));
+        try {
+            return table.getTabletInfos();
+        } finally {
+            table.close();
+        }
+    }
+
+    protected Table getTable(String tablePath) {
+        return MapRDB.getTable(tablePath);
+    }
+
+    protected TableDescriptor newTableDescriptor(String tablePath) {
+        return MapRDB.newTableDescriptor(tablePath);
+    }
+
+    protected FamilyDescriptor newFamilyDescriptor(String familyName, String fieldPath) {
+        return MapRDB.newFamilyDescriptor(familyName, fieldPath);
+    }
+
+    protected Admin newAdmin() {
+        return MapRDB.newAdmin();
+    }
+
     @Override
     public <T> List<T> execute(QueryCondition queryCondition, Class<T> entityClass) {
         return execute(ojaiConnection.newQuery().where(queryCondition).build(), entityClass);
@@ -288,26 +867,489 @@ public class MapRTemplate implements MapROperations {
     }
 
     private  <T> List<T> execute(Query query, Class<T> entityClass, String tableName) {
+        MapRQueryLog queryLog = this.queryLog;
+        long start = queryLog != null ? System.nanoTime() : 0L;
+        LongAdder fetchNanos = queryLog != null ? new LongAdder() : null;
+        LongAdder decodeNanos = queryLog != null ? new LongAdder() : null;
+        org.ojai.Document plan = null;
+
         DocumentStore store = getStore(tableName);
+        DocumentStream documentStream;
+        if(queryLog != null && queryLog.isExplain()) {
+            QueryResult result = store.findQuery(query);
+            plan = result.getQueryPlan();
+            documentStream = result;
+        } else
+            documentStream = store.find(query);
+
+        if(queryLog != null)
+            fetchNanos.add(System.nanoTime() - start);
 
-        List<T> list = convertDocumentStreamToIterable(store.find(query), entityClass);
+        List<T> list = convertDocumentStreamToIterable(documentStream, entityClass, tableName, fetchNanos,
+                decodeNanos);
 
         store.flush();
         store.close();
+        recordSize("rows.returned", tableName, list.size());
+
+        List<T> result = postProcess(list, entityClass, tableName);
+
+        if(queryLog != null)
+            queryLog.log("execute", tableName, () -> query, list.size(), System.nanoTime() - start,
+                    fetchNanos.sum(), decodeNanos.sum(), plan != null ? plan::asJsonString : null);
+
+        return result;
+    }
+
+    @Override
+    public <T> void registerQueryCache(Class<T> entityClass, MapRQueryCache queryCache) {
+        queryCaches.computeIfAbsent(getTablePath(entityClass), t -> new CopyOnWriteArraySet<>()).add(queryCache);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> execute(Supplier<Query> query, Class<T> entityClass, MapRQueryCache queryCache,
+                               Object cacheKey) {
+        String tableName = getTablePath(entityClass);
+        MapRQueryLog queryLog = this.queryLog;
+        long start = queryLog != null ? System.nanoTime() : 0L;
+        MapRQueryCache.Entry entry = queryCache.get(cacheKey);
+
+        if(entry == null) {
+            long generation = queryCache.getGeneration();
+            DocumentStore store = getStore(tableName);
+            DocumentStream documentStream = store.find(query.get());
+
+            List<Map<String, Object>> documents = new ArrayList<>();
+            documentStream.forEach(d -> documents.add(asMap(d, entityClass)));
+
+            documentStream.close();
+            store.close();
+            recordSize("rows.returned", tableName, documents.size());
+
+            entry = queryCache.put(cacheKey, documents, generation);
+        }
+
+        long fetched = queryLog != null ? System.nanoTime() : 0L;
+        List<T> result = queryCache.isDecoded() ?
+                (List<T>) entry.getObjects(documents -> Collections.unmodifiableList(
+                        decodeDocuments(documents, entityClass, tableName))) :
+                decodeDocuments(entry.getDocuments(), entityClass, tableName);
+
+        if(queryLog != null) {
+            long end = System.nanoTime();
+            queryLog.log("execute.cached", tableName, query, result.size(), end - start, fetched - start,
+                    end - fetched, null);
+        }
+
+        return result;
+    }
+
+    private <T> List<T> decodeDocuments(List<Map<String, Object>> documents, Class<T> entityClass, String tableName) {
+        List<T> result = new ArrayList<>(documents.size());
+        documents.forEach(d -> result.add(toObject(d, entityClass, tableName)));
+        return postProcess(result, entityClass, tableName);
+    }
+
+    private <T> List<T> postProcess(List<T> entities, Class<T> entityClass, String tableName) {
+        MapREntityMetadata metadata = MapREntityMetadata.get(entityClass);
+
+        if(metadata.hasReferences())
+            referenceResolver.resolve(entities, entityClass);
+
+        return metadata.hasLazyFields() ? lazyFieldLoader.wrap(entities, entityClass, tableName) : entities;
+    }
+
+    private <T> T postProcess(T entity, Class<T> entityClass, String tableName) {
+        return postProcess(Collections.singletonList(entity), entityClass, tableName).get(0);
+    }
+
+    @Override
+    public <T> Stream<T> stream(Query query, Class<T> entityClass) {
+        String tableName = getTablePath(entityClass);
+        DocumentStore store = getStore(tableName);
+        DocumentStream documentStream = store.find(query);
+
+        Stream<T> stream;
+        if(pipelinePrefetch > 0) {
+            PipelinedDocumentIterator<T> iterator = newPipelinedIterator(documentStream, entityClass, tableName,
+                    store::close);
+            stream = closingStream(iterator, Spliterator.ORDERED, iterator::close);
+        } else
+            stream = closingStream(documentStream.iterator(), Spliterator.ORDERED, () -> {
+                documentStream.close();
+                store.close();
+            }).map(d -> toObject(asMap(d, entityClass), entityClass, tableName));
+
+        return postProcess(stream, entityClass, tableName);
+    }
+
+    // streamed entities are post-processed in chunks, so their references and lazy fields are loaded with one
+    // multi-get per chunk instead of one lookup per entity
+    private <T> Stream<T> postProcess(Stream<T> stream, Class<T> entityClass, String tableName) {
+        MapREntityMetadata metadata = MapREntityMetadata.get(entityClass);
+        if(!metadata.hasReferences() && !metadata.hasLazyFields())
+            return stream;
+
+        Iterator<T> entities = stream.iterator();
+        Iterator<T> processed = new Iterator<T>() {
+            private Iterator<T> chunk = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                if(!chunk.hasNext() && entities.hasNext()) {
+                    List<T> list = new ArrayList<>(STREAM_CHUNK_SIZE);
+                    while(list.size() < STREAM_CHUNK_SIZE && entities.hasNext())
+                        list.add(entities.next());
+                    chunk = postProcess(list, entityClass, tableName).iterator();
+                }
+
+                return chunk.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                return chunk.next();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(processed, Spliterator.ORDERED), false)
+                .onClose(stream::close);
+    }
+
+    @Override
+    public <T> Stream<T> parallelScan(QueryCondition queryCondition, Class<T> entityClass) {
+        return parallelScan(queryCondition, entityClass, DEFAULT_SCAN_THREADS);
+    }
+
+    @Override
+    public <T> Stream<T> parallelScan(QueryCondition queryCondition, Class<T> entityClass, int parallelism) {
+        String tableName = getTablePath(entityClass);
+        List<Supplier<Stream<T>>> splits = getSplitConditions(tableName, queryCondition).stream()
+                .map(c -> (Supplier<Stream<T>>) () -> scanSplit(c, entityClass, tableName))
+                .collect(Collectors.toList());
+
+        ParallelScanIterator<T> iterator = new ParallelScanIterator<>(splits, parallelism,
+                parallelism * SCAN_BUFFER_SIZE, getScanExecutor());
+
+        return closingStream(iterator, 0, iterator::close);
+    }
+
+    @Override
+    public <T> void parallelScan(QueryCondition queryCondition, Class<T> entityClass, int parallelism,
+                                 Consumer<Stream<T>> splitConsumer) {
+        String tableName = getTablePath(entityClass);
+        Semaphore semaphore = new Semaphore(parallelism);
+        List<CompletableFuture<Void>> splits = new ArrayList<>();
+
+        for(QueryCondition condition : getSplitConditions(tableName, queryCondition)) {
+            semaphore.acquireUninterruptibly();
+            Runnable split = () -> {
+                try (Stream<T> stream = scanSplit(condition, entityClass, tableName)) {
+                    splitConsumer.accept(stream);
+                } finally {
+                    semaphore.release();
+                }
+            };
+
+            try {
+                splits.add(CompletableFuture.runAsync(split, getScanExecutor()));
+            } catch (RejectedExecutionException ex) {
+                split.run();
+            }
+        }
+
+        CompletableFuture.allOf(splits.toArray(new CompletableFuture[0])).join();
+    }
+
+    @Override
+    public <T> Stream<T> parallelScan(QueryCondition queryCondition, Sort sort, Class<T> entityClass) {
+        String tableName = getTablePath(entityClass);
+        DocumentStore store = getStore(tableName);
+        MapREntityMetadata metadata = MapREntityMetadata.get(entityClass);
+        Sort storedSort = metadata.getStoredSort(sort);
+
+        // sort fields are fetched even when they are lazy, the merge compares them
+        String[] projection = metadata.getProjection() == null ? null :
+                Stream.concat(Arrays.stream(metadata.getProjection()), storedSort.stream().map(Sort.Order::getProperty))
+                        .distinct().toArray(String[]::new);
+
+        List<DocumentStream> streams = getSplitConditions(tableName, queryCondition).stream()
+                .map(c -> {
+                    Query query = ojaiConnection.newQuery();
+                    if(c != null)
+                        query.where(c);
+                    if(projection != null)
+                        query.select(projection);
+                    for(Sort.Order o : storedSort)
+                        query.orderBy(o.getProperty(), o.isAscending() ? SortOrder.ASC : SortOrder.DESC);
+                    return store.find(query.build());
+                })
+                .collect(Collectors.toList());
+
+        // k-way merge of the sorted splits, with the decoding pipeline enabled every split is prefetched by its
+        // own fetch thread, otherwise the splits are read one document at a time by the consuming thread
+        List<Iterator<org.ojai.Document>> iterators = streams.stream()
+                .map(ds -> pipelinePrefetch > 0 ?
+                        new PipelinedDocumentIterator<org.ojai.Document>(ds, d -> d, pipelinePrefetch,
+                                pipelineFetchExecutor, Runnable::run, () -> {}) :
+                        ds.iterator())
+                .collect(Collectors.toList());
+
+        Iterator<org.ojai.Document> merged = new MergingDocumentIterator(iterators, storedSort);
+
+        Stream<T> stream = closingStream(merged, Spliterator.ORDERED, () -> {
+            iterators.stream().filter(i -> i instanceof PipelinedDocumentIterator)
+                    .forEach(i -> ((PipelinedDocumentIterator<?>) i).close());
+            streams.forEach(DocumentStream::close);
+            store.close();
+        }).map(d -> toObject(asMap(d, entityClass), entityClass, tableName));
+
+        return postProcess(stream, entityClass, tableName);
+    }
 
-        return list;
+    private <T> Stream<T> scanSplit(QueryCondition condition, Class<T> entityClass, String tableName) {
+        Query query = ojaiConnection.newQuery();
+        if(condition != null)
+            query.where(condition);
+
+        String[] projection = MapREntityMetadata.get(entityClass).getProjection();
+        if(projection != null)
+            query.select(projection);
+
+        DocumentStore store = getStore(tableName);
+        DocumentStream documentStream = store.find(query.build());
+
+        Stream<T> stream = closingStream(documentStream.iterator(), Spliterator.ORDERED, () -> {
+            documentStream.close();
+            store.close();
+        }).map(d -> toObject(asMap(d, entityClass), entityClass, tableName));
+
+        return postProcess(stream, entityClass, tableName);
+    }
+
+    // store backed streams release their resources once exhausted or closed, whichever comes first
+    private static <T> Stream<T> closingStream(Iterator<T> iterator, int characteristics, Runnable closeHandler) {
+        AtomicBoolean closed = new AtomicBoolean();
+        Runnable close = () -> {
+            if(closed.compareAndSet(false, true))
+                closeHandler.run();
+        };
+
+        Iterator<T> closing = new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                if(closed.get())
+                    return false;
+
+                boolean hasNext = iterator.hasNext();
+                if(!hasNext)
+                    close.run();
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                return iterator.next();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(closing, characteristics), false)
+                .onClose(close);
+    }
+
+    private List<QueryCondition> getSplitConditions(String tableName, QueryCondition queryCondition) {
+        boolean hasCondition = queryCondition != null && !queryCondition.isEmpty();
+
+        return Arrays.stream(getTabletInfos(tableName)).map(t -> {
+            QueryCondition tabletCondition = t.getCondition();
+
+            if(tabletCondition == null || tabletCondition.isEmpty())
+                return hasCondition ? queryCondition : null;
+
+            if(!hasCondition)
+                return tabletCondition;
+
+            return ojaiConnection.newCondition().and()
+                    .condition(tabletCondition)
+                    .condition(queryCondition)
+                    .close().build();
+        }).collect(Collectors.toList());
+    }
+
+    private <T> List<T> convertDocumentStreamToIterable(DocumentStream documentStream, Class<T> entityClass,
+                                                        String tableName) {
+        return convertDocumentStreamToIterable(documentStream, entityClass, tableName, null, null);
     }
 
-    private <T> List<T> convertDocumentStreamToIterable(DocumentStream documentStream, Class<T> entityClass) {
+    private <T> List<T> convertDocumentStreamToIterable(DocumentStream documentStream, Class<T> entityClass,
+                                                        String tableName, LongAdder fetchNanos,
+                                                        LongAdder decodeNanos) {
         List<T> resultCollection = new LinkedList<>();
 
-        documentStream.forEach(d -> resultCollection.add(converter.toObject(d.asMap(), entityClass)));
+        if(pipelinePrefetch > 0) {
+            newPipelinedIterator(documentStream, entityClass, tableName, () -> {}, fetchNanos, decodeNanos)
+                    .forEachRemaining(resultCollection::add);
+            return resultCollection;
+        }
+
+        if(fetchNanos == null)
+            documentStream.forEach(d -> resultCollection.add(toObject(asMap(d, entityClass), entityClass,
+                    tableName)));
+        else {
+            Iterator<org.ojai.Document> documents = documentStream.iterator();
+            while(true) {
+                long start = System.nanoTime();
+                org.ojai.Document document = documents.hasNext() ? documents.next() : null;
+                fetchNanos.add(System.nanoTime() - start);
+
+                if(document == null)
+                    break;
+                resultCollection.add(toObject(asMap(document, entityClass), entityClass, tableName, decodeNanos));
+            }
+        }
 
         documentStream.close();
 
         return resultCollection;
     }
 
+    private <T> PipelinedDocumentIterator<T> newPipelinedIterator(DocumentStream documentStream, Class<T> entityClass,
+                                                                  String tableName, Runnable closeHandler) {
+        return newPipelinedIterator(documentStream, entityClass, tableName, closeHandler, null, null);
+    }
+
+    private <T> PipelinedDocumentIterator<T> newPipelinedIterator(DocumentStream documentStream, Class<T> entityClass,
+                                                                  String tableName, Runnable closeHandler,
+                                                                  LongAdder fetchNanos, LongAdder decodeNanos) {
+        return new PipelinedDocumentIterator<>(documentStream, d -> toObject(asMap(d, entityClass), entityClass,
+                tableName, decodeNanos), pipelinePrefetch, pipelineFetchExecutor, pipelineDecoderExecutor, closeHandler,
+                fetchNanos);
+    }
+
+    private static CustomizableThreadFactory getThreadFactory(String threadNamePrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private <T> T toObject(Map<String, Object> json, Class<T> entityClass, String tableName) {
+        return toObject(json, entityClass, tableName, null);
+    }
+
+    private <T> T toObject(Map<String, Object> json, Class<T> entityClass, String tableName, LongAdder decodeNanos) {
+        if(changeTrackingEnabled)
+            changeTracker.track(tableName, Objects.toString(json.get("_id"), null), json);
+
+        long start = decodeNanos != null ? System.nanoTime() : startTimer();
+        T object = converter.toObject(json, entityClass);
+
+        if(start != 0L) {
+            long nanos = System.nanoTime() - start;
+            if(decodeNanos != null)
+                decodeNanos.add(nanos);
+            if(metrics.isEnabled())
+                metrics.recordTime("decode", tableName, nanos);
+        }
+
+        return object;
+    }
+
+    private Map<String, Object> findDocumentById(String tableName, String id, String[] fields,
+                                                 Class<?> entityClass) {
+        DocumentStore store = getStore(tableName);
+        org.ojai.Document document = fields != null ? store.findById(id, fields) : store.findById(id);
+        store.close();
+
+        return document != null ? asMap(document, entityClass) : null;
+    }
+
+    private Map<String, Map<String, Object>> findLazyDocuments(String tableName, Collection<String> ids,
+                                                               String[] fields) {
+        Map<String, Map<String, Object>> documents = findDocumentsById(tableName, ids, fields, null);
+
+        if(changeTrackingEnabled)
+            documents.forEach((id, d) -> changeTracker.merge(tableName, id, d));
+
+        return documents;
+    }
+
+    private Map<String, Map<String, Object>> findDocumentsById(String tableName, Collection<String> ids,
+                                                               String[] fields, Class<?> entityClass) {
+        if(ids.size() == 1) {
+            String id = ids.iterator().next();
+            return Collections.singletonMap(id, findDocumentById(tableName, id, fields, entityClass));
+        }
+
+        recordSize("batch", tableName, ids.size());
+        DocumentStore store = getStore(tableName);
+        QueryCondition condition = ojaiConnection.newCondition().in("_id", new ArrayList<>(ids)).build();
+        Query query = ojaiConnection.newQuery().where(condition);
+        if(fields != null)
+            query.select(fields);
+        DocumentStream documentStream = store.find(query.build());
+
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        documentStream.forEach(d -> documents.put(d.getIdString(), asMap(d, entityClass)));
+
+        documentStream.close();
+        store.close();
+
+        return documents;
+    }
+
+    private long startTimer() {
+        return metrics.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    private void stopTimer(String operation, String tableName, long start) {
+        if(start != 0L)
+            metrics.recordTime(operation, tableName, System.nanoTime() - start);
+    }
+
+    private void recordSize(String name, String tableName, long size) {
+        if(metrics.isEnabled())
+            metrics.recordSize(name, tableName, size);
+    }
+
+    private MapRDocumentLoader getDocumentLoader(String tableName, String[] fields, Class<?> entityClass) {
+        return documentLoaders.computeIfAbsent(tableName, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fields != null ? Arrays.asList(fields) : Collections.emptyList(),
+                        f -> new MapRDocumentLoader(ids -> findDocumentsById(tableName, ids, fields, entityClass),
+                                findByIdBatchSize, findByIdBatchWindowMicros, TimeUnit.MICROSECONDS));
+    }
+
+    private <T> MapRNearCache getNearCache(Class<T> entityClass, String tableName) {
+        NearCache nearCache = entityClass.getAnnotation(NearCache.class);
+
+        if(nearCache == null)
+            return null;
+
+        return nearCaches.computeIfAbsent(tableName, t -> new MapRNearCache(nearCache));
+    }
+
+    private void invalidateCaches(String tableName, String id) {
+        MapRNearCache nearCache = nearCaches.get(tableName);
+        if(nearCache != null && id != null)
+            nearCache.invalidate(id);
+
+        Map<List<String>, MapRDocumentLoader> loaders = documentLoaders.get(tableName);
+        if(loaders != null && id != null)
+            loaders.values().forEach(l -> l.invalidate(id));
+
+        invalidateQueryCaches(tableName);
+    }
+
+    private void invalidateQueryCaches(String tableName) {
+        Set<MapRQueryCache> caches = queryCaches.get(tableName);
+        if(caches != null)
+            caches.forEach(MapRQueryCache::invalidate);
+    }
+
     private String getPath(String className) {
         if(databaseName.startsWith("/"))
             return String.format("%s%s", databaseName, className);
@@ -328,7 +1370,7 @@ public class MapRTemplate implements MapROperations {
     }
 
     private <T> org.ojai.Document getDocumentWithId(T object, Class idClass) {
-        org.ojai.Document document = ojaiConnection.newDocument(converter.toJson(object));
+        org.ojai.Document document = newDocument(object);
 
         if (document.getId() == null) {
             if (idClass == String.class)
@@ -340,12 +1382,39 @@ public class MapRTemplate implements MapROperations {
         return document;
     }
 
+    // top-level primitive arrays are set on the document directly instead of through their list views
+    @SuppressWarnings("unchecked")
+    private org.ojai.Document newDocument(Object object) {
+        Map<String, Object> json = converter.toJson(LazyFieldInterceptor.unwrap(object, false));
+        Map<String, Object> arrays = PrimitiveArrays.extract(json);
+
+        org.ojai.Document document = ojaiConnection.newDocument(json);
+        arrays.forEach((field, array) -> PrimitiveArrays.set(document, field, array));
+        return document;
+    }
+
+    // top-level primitive arrays of the entity are read with a document reader, so their elements are not boxed
+    private Map<String, Object> asMap(org.ojai.Document document, Class<?> entityClass) {
+        Map<String, Class<?>> arrayFields = entityClass != null ?
+                MapREntityMetadata.get(entityClass).getPrimitiveArrayFields() : Collections.emptyMap();
+        if(arrayFields.isEmpty())
+            return document.asMap();
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        for(Map.Entry<String, Value> field : document) {
+            Class<?> type = arrayFields.get(field.getKey());
+            Object array = type != null ? PrimitiveArrays.read(document.asReader(field.getKey()), type) : null;
+            json.put(field.getKey(), array != null ? PrimitiveArrays.asList(array) : field.getValue().getObject());
+        }
+
+        return json;
+    }
+
     private Class getIdType(Class entityClass) {
-        Optional<Field> optional = Arrays.stream(entityClass.getDeclaredFields())
-                .filter(f-> f.getAnnotation(Id.class) != null || f.getAnnotation(MapRId.class) != null).findFirst();
+        Field idField = MapREntityMetadata.get(entityClass).getIdField();
 
-        if(optional.isPresent())
-            return optional.get().getType();
+        if(idField != null)
+            return idField.getType();
         else
             throw new RuntimeJsonMappingException("Id was not found in class " + entityClass.toString());
     }
@@ -0,0 +1,137 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import org.ojai.Document;
+import org.ojai.Value;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+class MergingDocumentIterator implements Iterator<Document> {
+
+    private final PriorityQueue<Head> heads;
+
+    MergingDocumentIterator(List<? extends Iterator<Document>> iterators, Sort sort) {
+        Comparator<Document> comparator = getComparator(sort);
+        this.heads = new PriorityQueue<>(Math.max(1, iterators.size()), (a, b) -> comparator.compare(a.current, b.current));
+
+        iterators.stream().filter(Iterator::hasNext).map(Head::new).forEach(heads::add);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Document next() {
+        Head head = heads.poll();
+        if(head == null)
+            throw new NoSuchElementException();
+
+        Document document = head.current;
+        if(head.iterator.hasNext()) {
+            head.current = head.iterator.next();
+            heads.add(head);
+        }
+
+        return document;
+    }
+
+    static Comparator<Document> getComparator(Sort sort) {
+        Comparator<Document> comparator = (a, b) -> 0;
+
+        for(Sort.Order order : sort) {
+            Comparator<Document> fieldComparator =
+                    (a, b) -> compareValues(a.getValue(order.getProperty()), b.getValue(order.getProperty()));
+            comparator = comparator.thenComparing(order.isAscending() ? fieldComparator : fieldComparator.reversed());
+        }
+
+        return comparator;
+    }
+
+    static int compareValues(Value a, Value b) {
+        boolean aNull = a == null || a.getType() == Value.Type.NULL;
+        boolean bNull = b == null || b.getType() == Value.Type.NULL;
+        if(aNull || bNull)
+            return aNull == bNull ? 0 : aNull ? -1 : 1;
+
+        Value.Type aType = a.getType();
+        Value.Type bType = b.getType();
+
+        if(isNumeric(aType) && isNumeric(bType))
+            return compareNumbers(a, b);
+
+        if(aType != bType)
+            return Integer.compare(getTypeRank(aType), getTypeRank(bType));
+
+        switch (aType) {
+            case BOOLEAN:
+                return Boolean.compare(a.getBoolean(), b.getBoolean());
+            case STRING:
+                return a.getString().compareTo(b.getString());
+            case DATE:
+                return Integer.compare(a.getDate().toDaysSinceEpoch(), b.getDate().toDaysSinceEpoch());
+            case TIME:
+                return Integer.compare(a.getTime().toTimeInMillis(), b.getTime().toTimeInMillis());
+            case TIMESTAMP:
+                return Long.compare(a.getTimestamp().getMillis(), b.getTimestamp().getMillis());
+            case INTERVAL:
+                return Long.compare(a.getInterval().getTimeInMillis(), b.getInterval().getTimeInMillis());
+            case BINARY:
+                return a.getBinary().compareTo(b.getBinary());
+            default:
+                // maps and arrays have no order, documents keep the order of their splits
+                return 0;
+        }
+    }
+
+    private static int compareNumbers(Value a, Value b) {
+        Number x = (Number) a.getObject();
+        Number y = (Number) b.getObject();
+
+        if(a.getType() == Value.Type.DECIMAL || b.getType() == Value.Type.DECIMAL)
+            return toDecimal(x).compareTo(toDecimal(y));
+        if(isIntegral(a.getType()) && isIntegral(b.getType()))
+            return Long.compare(x.longValue(), y.longValue());
+
+        return Double.compare(x.doubleValue(), y.doubleValue());
+    }
+
+    private static BigDecimal toDecimal(Number number) {
+        if(number instanceof BigDecimal)
+            return (BigDecimal) number;
+        if(number instanceof Float || number instanceof Double)
+            return BigDecimal.valueOf(number.doubleValue());
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    private static boolean isNumeric(Value.Type type) {
+        return isIntegral(type) || type == Value.Type.FLOAT || type == Value.Type.DOUBLE || type == Value.Type.DECIMAL;
+    }
+
+    private static boolean isIntegral(Value.Type type) {
+        return type == Value.Type.BYTE || type == Value.Type.SHORT || type == Value.Type.INT || type == Value.Type.LONG;
+    }
+
+    private static int getTypeRank(Value.Type type) {
+        return isNumeric(type) ? Value.Type.BYTE.ordinal() : type.ordinal();
+    }
+
+    private static class Head {
+
+        private final Iterator<Document> iterator;
+        private Document current;
+
+        private Head(Iterator<Document> iterator) {
+            this.iterator = iterator;
+            this.current = iterator.next();
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class MicrometerMapRMetrics implements MapRMetrics {
+
+    public final static String DEFAULT_PREFIX = "maprdb";
+
+    private final MeterRegistry registry;
+    private final String prefix;
+    private final Map<String, Map<String, Timer>> operationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, DistributionSummary>> summaries = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> queryTimers = new ConcurrentHashMap<>();
+
+    public MicrometerMapRMetrics(final MeterRegistry registry) {
+        this(registry, DEFAULT_PREFIX);
+    }
+
+    public MicrometerMapRMetrics(final MeterRegistry registry, final String prefix) {
+        this.registry = registry;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordTime(String operation, String table, long nanos) {
+        get(operationTimers, operation, table, () -> Timer.builder(prefix + ".operation")
+                .tag("operation", operation)
+                .tag("table", table)
+                .publishPercentileHistogram()
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordSize(String name, String table, long size) {
+        get(summaries, name, table, () -> DistributionSummary.builder(prefix + "." + name)
+                .tag("table", table)
+                .publishPercentileHistogram()
+                .register(registry)).record(size);
+    }
+
+    @Override
+    public void recordQuery(String repository, String method, long nanos) {
+        get(queryTimers, repository, method, () -> Timer.builder(prefix + ".repository")
+                .tag("repository", repository)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static <M> M get(Map<String, Map<String, M>> meters, String first, String second,
+                             Supplier<M> factory) {
+        Map<String, M> byFirst = meters.get(first);
+        if(byFirst == null)
+            byFirst = meters.computeIfAbsent(first, k -> new ConcurrentHashMap<>());
+
+        M meter = byFirst.get(second);
+        return meter != null ? meter : byFirst.computeIfAbsent(second, k -> factory.get());
+    }
+
+}
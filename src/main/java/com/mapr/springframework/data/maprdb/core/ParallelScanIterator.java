@@ -0,0 +1,157 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class ParallelScanIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final static Object END = new Object();
+
+    private final Queue<Supplier<Stream<T>>> splits;
+    private final BlockingQueue<Object> queue;
+    private volatile boolean closed;
+    private int running;
+    private Object next;
+    private Stream<T> callerStream;
+    private Iterator<T> callerIterator;
+
+    public ParallelScanIterator(final List<Supplier<Stream<T>>> splits, final int parallelism, final int capacity,
+                                final Executor executor) {
+        this.splits = new ConcurrentLinkedQueue<>(splits);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        // every worker reads splits one after another, so at most parallelism splits are open at once
+        for(int i = 0; i < Math.min(parallelism, splits.size()); i++) {
+            try {
+                executor.execute(this::scan);
+            } catch (RejectedExecutionException ex) {
+                break;
+            }
+            running++;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(closed)
+            return false;
+
+        if(next == null)
+            next = running > 0 ? take() : readInCaller();
+
+        if(next == END) {
+            close();
+            return false;
+        }
+
+        if(next instanceof Failure) {
+            close();
+            throw ((Failure) next).exception;
+        }
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if(!hasNext())
+            throw new NoSuchElementException();
+
+        Object current = next;
+        next = null;
+
+        return (T) current;
+    }
+
+    @Override
+    public void close() {
+        if(closed)
+            return;
+
+        closed = true;
+        queue.clear();
+        if(callerStream != null)
+            callerStream.close();
+    }
+
+    private void scan() {
+        try {
+            Supplier<Stream<T>> split;
+            while(!closed && (split = splits.poll()) != null)
+                try (Stream<T> stream = split.get()) {
+                    Iterator<T> iterator = stream.iterator();
+                    while(!closed && iterator.hasNext())
+                        put(iterator.next());
+                }
+        } catch (RuntimeException ex) {
+            put(new Failure(ex));
+        } finally {
+            put(END);
+        }
+    }
+
+    private Object take() {
+        try {
+            while(true) {
+                Object item = queue.take();
+                if(item != END || --running == 0)
+                    return item;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Interrupted while waiting for documents", e);
+        }
+    }
+
+    // no worker was accepted by the executor, splits are read by the consuming thread
+    private Object readInCaller() {
+        while(callerIterator == null || !callerIterator.hasNext()) {
+            if(callerStream != null)
+                callerStream.close();
+
+            Supplier<Stream<T>> split = splits.poll();
+            if(split == null) {
+                callerStream = null;
+                return END;
+            }
+
+            callerStream = split.get();
+            callerIterator = callerStream.iterator();
+        }
+
+        return callerIterator.next();
+    }
+
+    private void put(Object item) {
+        try {
+            while(!closed)
+                if(queue.offer(item, 100, TimeUnit.MILLISECONDS))
+                    return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Failure {
+
+        private final RuntimeException exception;
+
+        private Failure(RuntimeException exception) {
+            this.exception = exception;
+        }
+
+    }
+
+}
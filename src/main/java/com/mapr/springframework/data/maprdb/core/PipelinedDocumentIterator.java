@@ -0,0 +1,126 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import org.ojai.DocumentStream;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class PipelinedDocumentIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final static CompletableFuture<?> END = CompletableFuture.completedFuture(null);
+
+    private final BlockingQueue<CompletableFuture<?>> queue;
+    private final Runnable closeHandler;
+    private volatile boolean closed;
+    private CompletableFuture<?> next;
+
+    public PipelinedDocumentIterator(final DocumentStream documentStream,
+                                     final Function<org.ojai.Document, T> decoder, final int prefetch,
+                                     final Executor fetchExecutor, final Executor decoderExecutor,
+                                     final Runnable closeHandler) {
+        this(documentStream, decoder, prefetch, fetchExecutor, decoderExecutor, closeHandler, null);
+    }
+
+    public PipelinedDocumentIterator(final DocumentStream documentStream,
+                                     final Function<org.ojai.Document, T> decoder, final int prefetch,
+                                     final Executor fetchExecutor, final Executor decoderExecutor,
+                                     final Runnable closeHandler, final LongAdder fetchNanos) {
+        this.queue = new ArrayBlockingQueue<>(prefetch + 1);
+        this.closeHandler = closeHandler;
+
+        fetchExecutor.execute(() -> {
+            try {
+                Iterator<org.ojai.Document> documents = documentStream.iterator();
+                while(!closed) {
+                    long start = fetchNanos != null ? System.nanoTime() : 0L;
+                    org.ojai.Document document = documents.hasNext() ? documents.next() : null;
+                    if(fetchNanos != null)
+                        fetchNanos.add(System.nanoTime() - start);
+
+                    if(document == null ||
+                            !put(CompletableFuture.supplyAsync(() -> decoder.apply(document), decoderExecutor)))
+                        break;
+                }
+            } catch (RuntimeException ex) {
+                CompletableFuture<T> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ex);
+                put(failed);
+            } finally {
+                documentStream.close();
+                put(END);
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(closed)
+            return false;
+
+        if(next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted while waiting for documents", e);
+            }
+        }
+
+        if(next == END) {
+            close();
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if(!hasNext())
+            throw new NoSuchElementException();
+
+        CompletableFuture<?> current = next;
+        next = null;
+
+        try {
+            return (T) current.join();
+        } catch (CompletionException ex) {
+            close();
+            if(ex.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ex.getCause();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() {
+        if(closed)
+            return;
+
+        closed = true;
+        queue.clear();
+        closeHandler.run();
+    }
+
+    private boolean put(CompletableFuture<?> future) {
+        try {
+            while(!closed)
+                if(queue.offer(future, 100, TimeUnit.MILLISECONDS))
+                    return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.mapr.springframework.data.maprdb.core;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class QueryEvent {
+
+    private final String operation;
+    private final String method;
+    private final String table;
+    private final String query;
+    private final Map<String, Object> parameters;
+    private final long documents;
+    private final long totalNanos;
+    private final long fetchNanos;
+    private final long decodeNanos;
+    private final String plan;
+
+    public QueryEvent(final String operation, final String method, final String table, final String query,
+                      final Map<String, Object> parameters, final long documents, final long totalNanos,
+                      final long fetchNanos, final long decodeNanos, final String plan) {
+        this.operation = operation;
+        this.method = method;
+        this.table = table;
+        this.query = query;
+        this.parameters = parameters;
+        this.documents = documents;
+        this.totalNanos = totalNanos;
+        this.fetchNanos = fetchNanos;
+        this.decodeNanos = decodeNanos;
+        this.plan = plan;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append(operation).append(" on ").append(table);
+        if(method != null)
+            builder.append(" (").append(method).append(')');
+        builder.append(" took ").append(TimeUnit.NANOSECONDS.toMillis(totalNanos)).append(" ms")
+                .append(" (fetch ").append(TimeUnit.NANOSECONDS.toMillis(fetchNanos)).append(" ms")
+                .append(", decode ").append(TimeUnit.NANOSECONDS.toMillis(decodeNanos)).append(" ms)")
+                .append(", documents: ").append(documents)
+                .append(", query: ").append(query);
+        if(!parameters.isEmpty())
+            builder.append(", parameters: ").append(parameters);
+        if(plan != null)
+            builder.append(", plan: ").append(plan);
+
+        return builder.toString();
+    }
+
+}
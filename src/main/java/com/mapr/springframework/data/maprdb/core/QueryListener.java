@@ -0,0 +1,8 @@
+package com.mapr.springframework.data.maprdb.core;
+
+@FunctionalInterface
+public interface QueryListener {
+
+    void onQuery(QueryEvent event);
+
+}
@@ -0,0 +1,151 @@
+package com.mapr.springframework.data.maprdb.core.aggregation;
+
+import org.ojai.store.QueryCondition;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class Aggregation {
+
+    private final static String TABLE_ALIAS = "t";
+
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> parameters = new ArrayList<>();
+    private final List<String> groupFields = new ArrayList<>();
+    private final Map<String, String> projections = new LinkedHashMap<>();
+    private Sort sort = Sort.unsorted();
+    private long limit = -1;
+
+    public static Aggregation newAggregation() {
+        return new Aggregation();
+    }
+
+    public Aggregation match(String field, QueryCondition.Op op, Object value) {
+        conditions.add(String.format("%s %s ?", getFieldExpression(field), getOperator(op)));
+        parameters.add(value instanceof Date ? new Timestamp(((Date) value).getTime()) : value);
+        return this;
+    }
+
+    public Aggregation group(String... fields) {
+        for(String field : fields) {
+            groupFields.add(field);
+            projections.put(getAlias(field), getFieldExpression(field));
+        }
+        return this;
+    }
+
+    public Aggregation sum(String field, String alias) {
+        return function("SUM", field, alias);
+    }
+
+    public Aggregation avg(String field, String alias) {
+        return function("AVG", field, alias);
+    }
+
+    public Aggregation min(String field, String alias) {
+        return function("MIN", field, alias);
+    }
+
+    public Aggregation max(String field, String alias) {
+        return function("MAX", field, alias);
+    }
+
+    public Aggregation countDistinct(String field, String alias) {
+        projections.put(checkIdentifier(alias), String.format("COUNT(DISTINCT %s)", getFieldExpression(field)));
+        return this;
+    }
+
+    public Aggregation count(String alias) {
+        projections.put(checkIdentifier(alias), "COUNT(*)");
+        return this;
+    }
+
+    public Aggregation sort(Sort sort) {
+        this.sort = this.sort.and(sort);
+        return this;
+    }
+
+    public Aggregation limit(long limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public String toSql(String tableName) {
+        Assert.state(!projections.isEmpty(), "Aggregation should contain at least one group field or function");
+        sort.forEach(o -> Assert.state(projections.containsKey(o.getProperty()) || groupFields.contains(o.getProperty()),
+                "Aggregation can be sorted only by group fields or function aliases: " + o.getProperty()));
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(projections.entrySet().stream()
+                .map(e -> String.format("%s AS `%s`", e.getValue(), e.getKey()))
+                .collect(Collectors.joining(", ")));
+        sql.append(String.format(" FROM %s %s", tableName, TABLE_ALIAS));
+
+        if(!conditions.isEmpty())
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+
+        if(!groupFields.isEmpty())
+            sql.append(" GROUP BY ").append(groupFields.stream().map(this::getFieldExpression)
+                    .collect(Collectors.joining(", ")));
+
+        if(sort.isSorted())
+            sql.append(" ORDER BY ").append(sort.stream()
+                    .map(o -> String.format("%s %s", getSortExpression(o.getProperty()), o.isAscending() ? "ASC" : "DESC"))
+                    .collect(Collectors.joining(", ")));
+
+        if(limit >= 0)
+            sql.append(" LIMIT ").append(limit);
+
+        return sql.toString();
+    }
+
+    public Object[] getParameters() {
+        return parameters.toArray();
+    }
+
+    private Aggregation function(String function, String field, String alias) {
+        projections.put(checkIdentifier(alias), String.format("%s(%s)", function, getFieldExpression(field)));
+        return this;
+    }
+
+    private String getSortExpression(String property) {
+        return projections.containsKey(property) ? String.format("`%s`", property) : getFieldExpression(property);
+    }
+
+    private String getFieldExpression(String field) {
+        return TABLE_ALIAS + Arrays.stream(field.split("\\."))
+                .map(s -> String.format(".`%s`", checkIdentifier(s)))
+                .collect(Collectors.joining());
+    }
+
+    private String getAlias(String field) {
+        return checkIdentifier(field.replace('.', '_'));
+    }
+
+    private String checkIdentifier(String identifier) {
+        Assert.hasText(identifier, "Field name or alias should not be empty");
+        Assert.isTrue(identifier.indexOf('`') < 0, "Field name or alias should not contain backticks: " + identifier);
+        return identifier;
+    }
+
+    private String getOperator(QueryCondition.Op op) {
+        switch (op) {
+            case LESS:
+                return "<";
+            case LESS_OR_EQUAL:
+                return "<=";
+            case GREATER:
+                return ">";
+            case GREATER_OR_EQUAL:
+                return ">=";
+            case NOT_EQUAL:
+                return "<>";
+            default:
+                return "=";
+        }
+    }
+
+}
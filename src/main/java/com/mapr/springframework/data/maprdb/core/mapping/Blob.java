@@ -0,0 +1,14 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import java.lang.annotation.*;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.TYPE })
+public @interface Blob {
+
+    BlobFormat format() default BlobFormat.SMILE;
+
+    boolean lazy() default true;
+
+}
@@ -0,0 +1,51 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public enum BlobFormat {
+
+    SMILE(new byte[] { ':', ')', '\n' }) {
+        @Override
+        public JsonFactory newFactory() {
+            return new SmileFactory();
+        }
+    },
+
+    CBOR(new byte[] { (byte) 0xD9, (byte) 0xD9, (byte) 0xF7 }) {
+        @Override
+        public JsonFactory newFactory() {
+            return new CBORFactory().enable(CBORGenerator.Feature.WRITE_TYPE_HEADER);
+        }
+    };
+
+    private final byte[] header;
+
+    BlobFormat(byte[] header) {
+        this.header = header;
+    }
+
+    public abstract JsonFactory newFactory();
+
+    public static BlobFormat detect(byte[] data) {
+        for(BlobFormat format : values())
+            if(format.matches(data))
+                return format;
+
+        return null;
+    }
+
+    private boolean matches(byte[] data) {
+        if(data.length < header.length)
+            return false;
+
+        for(int i = 0; i < header.length; i++)
+            if(data[i] != header[i])
+                return false;
+
+        return true;
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+public class BlobSerializers {
+
+    private BlobSerializers() {
+    }
+
+    public static class Mappers {
+
+        private final BiFunction<JsonFactory, Mappers, ObjectMapper> mapperFactory;
+        private final Map<BlobFormat, ObjectMapper> mappers = new ConcurrentHashMap<>();
+
+        public Mappers(final BiFunction<JsonFactory, Mappers, ObjectMapper> mapperFactory) {
+            this.mapperFactory = mapperFactory;
+        }
+
+        public ObjectMapper get(BlobFormat format) {
+            return mappers.computeIfAbsent(format, f -> mapperFactory.apply(f.newFactory(), this));
+        }
+
+        public Object decode(byte[] data, JavaType type) {
+            BlobFormat format = BlobFormat.detect(data);
+            if(format == null)
+                throw new IllegalArgumentException("Unknown format of blob value");
+
+            try {
+                return get(format).readValue(data, type);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot decode blob value: " + ex.getMessage(), ex);
+            }
+        }
+
+    }
+
+    public static class Serializer extends StdSerializer<Object> {
+
+        private final Mappers mappers;
+        private final BlobFormat format;
+
+        public Serializer(final Mappers mappers, final BlobFormat format) {
+            super(Object.class);
+            this.mappers = mappers;
+            this.format = format;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            BlobTargetSource targetSource = BlobTargetSource.find(value);
+
+            byte[] data = targetSource != null && !targetSource.isInitialized() ? targetSource.getData() :
+                    mappers.get(format).writeValueAsBytes(targetSource != null ? targetSource.getObject() : value);
+
+            if(gen instanceof TokenBuffer)
+                gen.writeEmbeddedObject(ByteBuffer.wrap(data));
+            else
+                gen.writeBinary(data);
+        }
+
+    }
+
+    public static class Deserializer extends StdDeserializer<Object> implements ContextualDeserializer {
+
+        private final Mappers mappers;
+        private final boolean lazy;
+        private final JavaType type;
+        private final JsonDeserializer<Object> delegate;
+
+        public Deserializer(final Mappers mappers, final boolean lazy) {
+            this(mappers, lazy, null, null);
+        }
+
+        private Deserializer(final Mappers mappers, final boolean lazy, final JavaType type,
+                             final JsonDeserializer<Object> delegate) {
+            super(Object.class);
+            this.mappers = mappers;
+            this.lazy = lazy;
+            this.type = type;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException {
+            JavaType propertyType = property != null ? property.getType() : ctxt.getContextualType();
+            return new Deserializer(mappers, lazy, propertyType,
+                    ctxt.findContextualValueDeserializer(propertyType, property));
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            byte[] data = null;
+
+            if(p.getCurrentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                Object embedded = p.getEmbeddedObject();
+                if(embedded instanceof ByteBuffer) {
+                    ByteBuffer buffer = ((ByteBuffer) embedded).duplicate();
+                    data = new byte[buffer.remaining()];
+                    buffer.get(data);
+                } else if(embedded instanceof byte[])
+                    data = (byte[]) embedded;
+            } else if(p.getCurrentToken() == JsonToken.VALUE_STRING && !type.hasRawClass(String.class)) {
+                // blobs inside compressed values are stored as base64 text
+                try {
+                    data = Base64Variants.getDefaultVariant().decode(p.getText());
+                } catch (IllegalArgumentException ex) {
+                    data = null;
+                }
+            }
+
+            if(data == null || BlobFormat.detect(data) == null)
+                return delegate.deserialize(p, ctxt);
+
+            if(lazy && BlobTargetSource.isProxyable(type.getRawClass()))
+                return BlobTargetSource.createProxy(type.getRawClass(), data, d -> mappers.decode(d, type));
+
+            return mappers.decode(data, type);
+        }
+
+    }
+
+}
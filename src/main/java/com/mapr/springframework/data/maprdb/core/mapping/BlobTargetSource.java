@@ -0,0 +1,70 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.AbstractLazyCreationTargetSource;
+
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+public class BlobTargetSource extends AbstractLazyCreationTargetSource {
+
+    private final Class<?> type;
+    private final byte[] data;
+    private final Function<byte[], Object> decoder;
+
+    public BlobTargetSource(final Class<?> type, final byte[] data, final Function<byte[], Object> decoder) {
+        this.type = type;
+        this.data = data;
+        this.decoder = decoder;
+    }
+
+    public static boolean isProxyable(Class<?> type) {
+        return type.isInterface() || (!Modifier.isFinal(type.getModifiers()) && !type.isArray()
+                && !type.isPrimitive() && !type.getName().startsWith("java."));
+    }
+
+    public static Object createProxy(final Class<?> type, final byte[] data, final Function<byte[], Object> decoder) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTargetSource(new BlobTargetSource(type, data, decoder));
+        if(type.isInterface()) {
+            factory.addInterface(type);
+            return factory.getProxy();
+        }
+
+        factory.setProxyTargetClass(true);
+        return factory.getProxy(type.getClassLoader());
+    }
+
+    public static BlobTargetSource find(Object object) {
+        if(!(object instanceof Advised))
+            return null;
+
+        TargetSource targetSource = ((Advised) object).getTargetSource();
+        return targetSource instanceof BlobTargetSource ? (BlobTargetSource) targetSource : null;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public synchronized Object getObject() {
+        try {
+            return getTarget();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Cannot decode blob value: " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public synchronized Class<?> getTargetClass() {
+        return type;
+    }
+
+    @Override
+    protected Object createObject() {
+        return decoder.apply(data);
+    }
+
+}
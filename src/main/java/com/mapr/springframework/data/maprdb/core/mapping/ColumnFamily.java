@@ -0,0 +1,18 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import java.lang.annotation.*;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.TYPE })
+public @interface ColumnFamily {
+
+    String value();
+
+    boolean lazy() default true;
+
+    long ttl() default 0;
+
+    boolean inMemory() default false;
+
+}
@@ -0,0 +1,14 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import java.lang.annotation.*;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD })
+public @interface Compressed {
+
+    CompressionCodec codec() default CompressionCodec.LZ4;
+
+    int threshold() default 1024;
+
+}
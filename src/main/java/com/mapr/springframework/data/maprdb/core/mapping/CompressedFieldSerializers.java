@@ -0,0 +1,126 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class CompressedFieldSerializers {
+
+    private final static short MAGIC = 0x4D43;
+    private final static int HEADER_SIZE = 7;
+    private final static CompressionCodec[] CODECS = CompressionCodec.values();
+    private final static JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private CompressedFieldSerializers() {
+    }
+
+    public static ByteBuffer compress(byte[] data, CompressionCodec codec) {
+        byte[] compressed = codec.compress(data);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + compressed.length);
+        buffer.putShort(MAGIC).put((byte) codec.ordinal()).putInt(data.length).put(compressed);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    public static byte[] decompress(ByteBuffer value) {
+        ByteBuffer buffer = value.duplicate();
+        if(buffer.remaining() < HEADER_SIZE || buffer.getShort() != MAGIC)
+            return null;
+
+        int codec = buffer.get();
+        int length = buffer.getInt();
+        if(codec < 0 || codec >= CODECS.length || length < 0)
+            return null;
+
+        byte[] compressed = new byte[buffer.remaining()];
+        buffer.get(compressed);
+
+        return CODECS[codec].decompress(compressed, length);
+    }
+
+    public static class Serializer extends StdSerializer<Object> {
+
+        private final CompressionCodec codec;
+        private final int threshold;
+
+        public Serializer(final CompressionCodec codec, final int threshold) {
+            super(Object.class);
+            this.codec = codec;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            TokenBuffer tokens = new TokenBuffer(gen.getCodec(), false);
+            provider.defaultSerializeValue(value, tokens);
+
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            try(JsonParser parser = tokens.asParser(); JsonGenerator json = JSON_FACTORY.createGenerator(data)) {
+                // embedded OJAI values are written through the codec, which takes their plain JSON form
+                json.setCodec(gen.getCodec());
+                parser.nextToken();
+                json.copyCurrentStructure(parser);
+            }
+
+            if(data.size() < threshold)
+                tokens.serialize(gen);
+            else
+                gen.writeEmbeddedObject(compress(data.toByteArray(), codec));
+        }
+
+    }
+
+    public static class Deserializer extends StdDeserializer<Object> implements ContextualDeserializer {
+
+        private final JsonDeserializer<Object> delegate;
+
+        public Deserializer() {
+            this(null);
+        }
+
+        private Deserializer(final JsonDeserializer<Object> delegate) {
+            super(Object.class);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException {
+            JavaType propertyType = property != null ? property.getType() : ctxt.getContextualType();
+            return new Deserializer(ctxt.findContextualValueDeserializer(propertyType, property));
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if(p.getCurrentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                Object embedded = p.getEmbeddedObject();
+                ByteBuffer value = embedded instanceof ByteBuffer ? (ByteBuffer) embedded :
+                        embedded instanceof byte[] ? ByteBuffer.wrap((byte[]) embedded) : null;
+
+                byte[] data = value != null ? decompress(value) : null;
+                if(data != null)
+                    try(JsonParser parser = JSON_FACTORY.createParser(data)) {
+                        parser.setCodec(p.getCodec());
+                        parser.nextToken();
+                        return delegate.deserialize(parser, ctxt);
+                    }
+            }
+
+            return delegate.deserialize(p, ctxt);
+        }
+
+    }
+
+}
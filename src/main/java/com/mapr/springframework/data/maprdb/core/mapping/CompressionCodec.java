@@ -0,0 +1,86 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public enum CompressionCodec {
+
+    LZ4 {
+        @Override
+        public byte[] compress(byte[] data) {
+            return Lz4.FACTORY.fastCompressor().compress(data);
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int length) {
+            return Lz4.FACTORY.fastDecompressor().decompress(data, length);
+        }
+    },
+
+    ZSTD {
+        @Override
+        public byte[] compress(byte[] data) {
+            return Zstd.compress(data);
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int length) {
+            return Zstd.decompress(data, length);
+        }
+    },
+
+    DEFLATE {
+        @Override
+        public byte[] compress(byte[] data) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+
+                ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2 + 16);
+                byte[] buffer = new byte[8192];
+                while(!deflater.finished())
+                    output.write(buffer, 0, deflater.deflate(buffer));
+
+                return output.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int length) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(data);
+
+                byte[] result = new byte[length];
+                int offset = 0;
+                while(offset < length && !inflater.finished())
+                    offset += inflater.inflate(result, offset, length - offset);
+
+                return result;
+            } catch (DataFormatException ex) {
+                throw new IllegalArgumentException("Cannot decompress field value: " + ex.getMessage(), ex);
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    public abstract byte[] compress(byte[] data);
+
+    public abstract byte[] decompress(byte[] data, int length);
+
+    private static class Lz4 {
+
+        private final static LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import org.ojai.store.QueryCondition;
+
+@FunctionalInterface
+public interface ConditionValueBinder<T> {
+
+    QueryCondition bind(QueryCondition condition, String fieldPath, QueryCondition.Op op, T value);
+
+}
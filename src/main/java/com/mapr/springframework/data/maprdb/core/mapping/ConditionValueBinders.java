@@ -0,0 +1,123 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import org.ojai.store.QueryCondition;
+import org.ojai.types.ODate;
+import org.ojai.types.OTime;
+import org.ojai.types.OTimestamp;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ConditionValueBinders {
+
+    private final static ConditionValueBinders DEFAULT = new ConditionValueBinders();
+
+    private final Map<Class<?>, ConditionValueBinder<?>> binders = new ConcurrentHashMap<>();
+    private volatile ClassValue<ConditionValueBinder<Object>> resolved = newResolver();
+
+    public ConditionValueBinders() {
+        register(String.class, QueryCondition::is);
+        register(Boolean.class, QueryCondition::is);
+        register(Byte.class, QueryCondition::is);
+        register(Short.class, QueryCondition::is);
+        register(Integer.class, QueryCondition::is);
+        register(Long.class, QueryCondition::is);
+        register(Float.class, QueryCondition::is);
+        register(Double.class, QueryCondition::is);
+        register(BigDecimal.class, QueryCondition::is);
+        register(BigInteger.class, (c, f, op, v) -> c.is(f, op, new BigDecimal(v)));
+        register(ByteBuffer.class, QueryCondition::is);
+        register(byte[].class, (c, f, op, v) -> c.is(f, op, ByteBuffer.wrap(v)));
+        register(Character.class, (c, f, op, v) -> c.is(f, op, v.toString()));
+        register(UUID.class, (c, f, op, v) -> c.is(f, op, v.toString()));
+        register(Enum.class, (c, f, op, v) -> c.is(f, op, v.name()));
+
+        register(OTimestamp.class, QueryCondition::is);
+        register(ODate.class, QueryCondition::is);
+        register(OTime.class, QueryCondition::is);
+        register(Date.class, (c, f, op, v) -> c.is(f, op, new OTimestamp(v.getTime())));
+        register(java.sql.Date.class, (c, f, op, v) -> c.is(f, op, toODate(v.toLocalDate())));
+        register(java.sql.Time.class, (c, f, op, v) -> c.is(f, op, toOTime(v.toLocalTime())));
+        register(Instant.class, (c, f, op, v) -> c.is(f, op, new OTimestamp(v.toEpochMilli())));
+        register(LocalDateTime.class, (c, f, op, v) ->
+                c.is(f, op, new OTimestamp(v.toInstant(ZoneOffset.UTC).toEpochMilli())));
+        register(OffsetDateTime.class, (c, f, op, v) -> c.is(f, op, new OTimestamp(v.toInstant().toEpochMilli())));
+        register(ZonedDateTime.class, (c, f, op, v) -> c.is(f, op, new OTimestamp(v.toInstant().toEpochMilli())));
+        register(LocalDate.class, (c, f, op, v) -> c.is(f, op, toODate(v)));
+        register(LocalTime.class, (c, f, op, v) -> c.is(f, op, toOTime(v)));
+
+        register(Collection.class, (c, f, op, v) -> {
+            if(op == QueryCondition.Op.EQUAL)
+                return c.equals(f, new ArrayList<>(v));
+            if(op == QueryCondition.Op.NOT_EQUAL)
+                return c.notEquals(f, new ArrayList<>(v));
+            throw new UnsupportedOperationException(op + " condition with collection value is not supported");
+        });
+        register(Map.class, (c, f, op, v) -> {
+            if(op == QueryCondition.Op.EQUAL)
+                return c.equals(f, (Map<String, ?>) v);
+            if(op == QueryCondition.Op.NOT_EQUAL)
+                return c.notEquals(f, (Map<String, ?>) v);
+            throw new UnsupportedOperationException(op + " condition with map value is not supported");
+        });
+    }
+
+    public static ConditionValueBinders getDefault() {
+        return DEFAULT;
+    }
+
+    public <T> ConditionValueBinders register(Class<T> type, ConditionValueBinder<? super T> binder) {
+        binders.put(ClassUtils.resolvePrimitiveIfNecessary(type), binder);
+        resolved = newResolver();
+        return this;
+    }
+
+    public QueryCondition bind(QueryCondition condition, String fieldPath, QueryCondition.Op op, Object value) {
+        if(value == null)
+            throw new UnsupportedOperationException("null value is not supported, use IsNull condition instead");
+
+        return resolved.get(value.getClass()).bind(condition, fieldPath, op, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConditionValueBinder<Object> resolve(Class<?> type) {
+        for(Class<?> c = type; c != null; c = c.getSuperclass()) {
+            ConditionValueBinder<?> binder = binders.get(c);
+            if(binder != null)
+                return (ConditionValueBinder<Object>) binder;
+        }
+
+        for(Class<?> i : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            ConditionValueBinder<?> binder = binders.get(i);
+            if(binder != null)
+                return (ConditionValueBinder<Object>) binder;
+        }
+
+        return (c, f, op, v) -> {
+            throw new UnsupportedOperationException(type.getCanonicalName() + " type is not supported");
+        };
+    }
+
+    private ClassValue<ConditionValueBinder<Object>> newResolver() {
+        return new ClassValue<ConditionValueBinder<Object>>() {
+            @Override
+            protected ConditionValueBinder<Object> computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+    }
+
+    private static ODate toODate(LocalDate date) {
+        return new ODate(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    private static OTime toOTime(LocalTime time) {
+        return new OTime(time.getHour(), time.getMinute(), time.getSecond(), time.getNano() / 1000000);
+    }
+
+}
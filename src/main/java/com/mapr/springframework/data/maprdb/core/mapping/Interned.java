@@ -0,0 +1,9 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import java.lang.annotation.*;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.TYPE })
+public @interface Interned {
+}
@@ -0,0 +1,31 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+public class InternedStringDeserializer extends StdScalarDeserializer<String> {
+
+    private final StringInterner interner;
+
+    public InternedStringDeserializer(final StringInterner interner) {
+        super(String.class);
+        this.interner = interner;
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if(p.getCurrentToken() != JsonToken.VALUE_STRING)
+            return interner.intern(StringDeserializer.instance.deserialize(p, ctxt));
+
+        if(p.hasTextCharacters())
+            return interner.intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+
+        return interner.intern(p.getText());
+    }
+
+}
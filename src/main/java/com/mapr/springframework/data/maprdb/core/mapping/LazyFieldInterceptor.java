@@ -0,0 +1,100 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class LazyFieldInterceptor implements MethodInterceptor {
+
+    private final Object target;
+    private final MapREntityMetadata metadata;
+    private final Consumer<LazyFieldInterceptor> loader;
+    private final Set<Field> assignedFields = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    private LazyFieldInterceptor(final Object target, final Consumer<LazyFieldInterceptor> loader) {
+        this.target = target;
+        this.metadata = MapREntityMetadata.get(target.getClass());
+        this.loader = loader;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T createProxy(final T target, final Consumer<LazyFieldInterceptor> loader) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new LazyFieldInterceptor(target, loader));
+        return (T) factory.getProxy(target.getClass().getClassLoader());
+    }
+
+    public static LazyFieldInterceptor find(Object object) {
+        if(!(object instanceof Advised))
+            return null;
+
+        for(Advisor advisor : ((Advised) object).getAdvisors())
+            if(advisor.getAdvice() instanceof LazyFieldInterceptor)
+                return (LazyFieldInterceptor) advisor.getAdvice();
+
+        return null;
+    }
+
+    public static Object unwrap(Object object, boolean load) {
+        LazyFieldInterceptor interceptor = find(object);
+
+        if(interceptor == null)
+            return object;
+
+        if(load)
+            interceptor.load();
+
+        return interceptor.target;
+    }
+
+    public Object getTarget() {
+        return target;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void load() {
+        if(!loaded)
+            loader.accept(this);
+    }
+
+    public synchronized void apply(Object loadedEntity) {
+        if(loaded)
+            return;
+
+        for(Field field : metadata.getLazyFields())
+            if(!assignedFields.contains(field))
+                ReflectionUtils.setField(field, target,
+                        loadedEntity != null ? ReflectionUtils.getField(field, loadedEntity) : null);
+
+        loaded = true;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if(!loaded) {
+            if(metadata.getLazyReadMethods().containsKey(invocation.getMethod()))
+                load();
+            else {
+                Field field = metadata.getLazyWriteMethods().get(invocation.getMethod());
+                if(field != null)
+                    assignedFields.add(field);
+            }
+        }
+
+        return invocation.proceed();
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.AbstractLazyCreationTargetSource;
+import org.springframework.dao.DataRetrievalFailureException;
+
+import java.util.function.Function;
+
+public class LazyReferenceTargetSource extends AbstractLazyCreationTargetSource {
+
+    private final Class<?> type;
+    private final String id;
+    private final Function<String, Object> loader;
+
+    public LazyReferenceTargetSource(final Class<?> type, final String id, final Function<String, Object> loader) {
+        this.type = type;
+        this.id = id;
+        this.loader = loader;
+    }
+
+    public static Object createProxy(final Class<?> type, final String id, final Function<String, Object> loader) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTargetSource(new LazyReferenceTargetSource(type, id, loader));
+        factory.setProxyTargetClass(true);
+        return factory.getProxy(type.getClassLoader());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public synchronized Class<?> getTargetClass() {
+        return type;
+    }
+
+    @Override
+    protected Object createObject() {
+        Object object = loader.apply(id);
+
+        if(object == null)
+            throw new DataRetrievalFailureException(String.format("Referenced document %s of type %s does not exist",
+                    id, type.getName()));
+
+        return object;
+    }
+
+}
@@ -2,16 +2,28 @@ package com.mapr.springframework.data.maprdb.core.mapping;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.annotation.Id;
 
 public class MapRAnnotationIntrospector extends JacksonAnnotationIntrospector {
 
+    private final BlobSerializers.Mappers blobMappers;
+
+    public MapRAnnotationIntrospector(final BlobSerializers.Mappers blobMappers) {
+        this.blobMappers = blobMappers;
+    }
+
     @Override
     public PropertyName findNameForSerialization(Annotated a) {
         if(isId(a))
             return PropertyName.construct("_id");
+        else if(hasStoredName(a))
+            return PropertyName.construct(_findAnnotation(a, StoredName.class).value());
         else
             return super.findNameForSerialization(a);
     }
@@ -20,6 +32,8 @@ public class MapRAnnotationIntrospector extends JacksonAnnotationIntrospector {
     public PropertyName findNameForDeserialization(Annotated a) {
         if(isId(a))
             return PropertyName.construct("_id");
+        else if(hasStoredName(a))
+            return PropertyName.construct(_findAnnotation(a, StoredName.class).value());
         else
             return super.findNameForDeserialization(a);
     }
@@ -32,6 +46,113 @@ public class MapRAnnotationIntrospector extends JacksonAnnotationIntrospector {
             return super.findPropertyInclusion(a);
     }
 
+    @Override
+    public Object findSerializer(Annotated a) {
+        Compressed compressed = _findAnnotation(a, Compressed.class);
+        Blob blob = findBlob(a);
+        if(compressed != null)
+            return new CompressedFieldSerializers.Serializer(compressed.codec(), compressed.threshold());
+        else if(blob != null)
+            return new BlobSerializers.Serializer(blobMappers, blob.format());
+        else
+            return super.findSerializer(a);
+    }
+
+    @Override
+    public Object findDeserializer(Annotated a) {
+        Blob blob = findBlob(a);
+        if(_findAnnotation(a, Compressed.class) != null)
+            return new CompressedFieldSerializers.Deserializer();
+        else if(blob != null)
+            return new BlobSerializers.Deserializer(blobMappers, blob.lazy());
+        else if(isInterned(a) && isString(getType(a)))
+            return new InternedStringDeserializer(StringInterner.getDefault());
+        else
+            return super.findDeserializer(a);
+    }
+
+    @Override
+    public Object findContentDeserializer(Annotated a) {
+        JavaType type = getType(a);
+        if(isInterned(a) && type != null && type.isContainerType() && isString(type.getContentType()))
+            return new InternedStringDeserializer(StringInterner.getDefault());
+        else
+            return super.findContentDeserializer(a);
+    }
+
+    @Override
+    public Object findSerializationConverter(Annotated a) {
+        if(isReference(a) && !isCollection(a))
+            return new ReferenceConverters.ToId();
+        else
+            return super.findSerializationConverter(a);
+    }
+
+    @Override
+    public Object findSerializationContentConverter(AnnotatedMember a) {
+        if(isReference(a) && isCollection(a))
+            return new ReferenceConverters.ToId();
+        else
+            return super.findSerializationContentConverter(a);
+    }
+
+    @Override
+    public Object findDeserializationConverter(Annotated a) {
+        if(isReference(a) && !isCollection(a))
+            return new ReferenceConverters.FromId(getType(a).getRawClass());
+        else
+            return super.findDeserializationConverter(a);
+    }
+
+    @Override
+    public Object findDeserializationContentConverter(AnnotatedMember a) {
+        if(isReference(a) && isCollection(a))
+            return new ReferenceConverters.FromId(getType(a).getContentType().getRawClass());
+        else
+            return super.findDeserializationContentConverter(a);
+    }
+
+    private Blob findBlob(Annotated a) {
+        if(!(a instanceof AnnotatedMember))
+            return null;
+
+        Blob blob = _findAnnotation(a, Blob.class);
+        JavaType type = getType(a);
+        return blob != null || type == null ? blob : AnnotationUtils.findAnnotation(type.getRawClass(), Blob.class);
+    }
+
+    private boolean isInterned(Annotated a) {
+        if(_findAnnotation(a, Interned.class) != null)
+            return true;
+
+        return a instanceof AnnotatedMember &&
+                AnnotationUtils.findAnnotation(((AnnotatedMember) a).getDeclaringClass(), Interned.class) != null;
+    }
+
+    private boolean isString(JavaType type) {
+        return type != null && type.hasRawClass(String.class);
+    }
+
+    private boolean hasStoredName(Annotated a) {
+        return _findAnnotation(a, StoredName.class) != null;
+    }
+
+    private boolean isReference(Annotated a) {
+        return _findAnnotation(a, Reference.class) != null;
+    }
+
+    private boolean isCollection(Annotated a) {
+        JavaType type = getType(a);
+        return type != null && type.isCollectionLikeType();
+    }
+
+    private JavaType getType(Annotated a) {
+        if(a instanceof AnnotatedMethod && ((AnnotatedMethod) a).getParameterCount() == 1)
+            return ((AnnotatedMethod) a).getParameterType(0);
+        else
+            return a.getType();
+    }
+
     private boolean isId(Annotated a) {
         Id id = _findAnnotation(a, Id.class);
         MapRId mapRId = _findAnnotation(a, MapRId.class);
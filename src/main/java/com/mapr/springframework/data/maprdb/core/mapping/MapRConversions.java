@@ -0,0 +1,90 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.std.StdDelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdDelegatingSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.StdConverter;
+import org.springframework.core.convert.converter.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MapRConversions {
+
+    private final List<Conversion<?, ?>> conversions = new ArrayList<>();
+
+    public <T, S> MapRConversions register(Class<T> type, Class<S> storedType, Converter<T, S> writer,
+                                           Converter<S, T> reader) {
+        conversions.add(new Conversion<>(type, storedType, writer, reader));
+        return this;
+    }
+
+    public Module getModule() {
+        SimpleModule module = new SimpleModule("MapRConversions");
+        conversions.forEach(c -> c.register(module));
+        return module;
+    }
+
+    public void registerBinders(ConditionValueBinders binders) {
+        conversions.forEach(c -> c.register(binders));
+    }
+
+    private static class Conversion<T, S> {
+
+        private final Class<T> type;
+        private final Class<S> storedType;
+        private final Converter<T, S> writer;
+        private final Converter<S, T> reader;
+
+        private Conversion(Class<T> type, Class<S> storedType, Converter<T, S> writer, Converter<S, T> reader) {
+            this.type = type;
+            this.storedType = storedType;
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        private void register(SimpleModule module) {
+            module.addSerializer(type, new StdDelegatingSerializer(new TypedConverter<>(type, storedType, writer)));
+            module.addDeserializer(type, new StdDelegatingDeserializer<>(
+                    new TypedConverter<>(storedType, type, reader)));
+        }
+
+        private void register(ConditionValueBinders binders) {
+            binders.register(type, (c, f, op, v) -> binders.bind(c, f, op, writer.convert(v)));
+        }
+
+    }
+
+    private static class TypedConverter<IN, OUT> extends StdConverter<IN, OUT> {
+
+        private final Class<IN> inputType;
+        private final Class<OUT> outputType;
+        private final Converter<IN, OUT> converter;
+
+        private TypedConverter(Class<IN> inputType, Class<OUT> outputType, Converter<IN, OUT> converter) {
+            this.inputType = inputType;
+            this.outputType = outputType;
+            this.converter = converter;
+        }
+
+        @Override
+        public OUT convert(IN value) {
+            return converter.convert(value);
+        }
+
+        @Override
+        public JavaType getInputType(TypeFactory typeFactory) {
+            return typeFactory.constructType(inputType);
+        }
+
+        @Override
+        public JavaType getOutputType(TypeFactory typeFactory) {
+            return typeFactory.constructType(outputType);
+        }
+
+    }
+
+}
@@ -0,0 +1,327 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class MapREntityMetadata {
+
+    private final static Map<Class<?>, MapREntityMetadata> METADATA_CACHE = new ConcurrentReferenceHashMap<>();
+
+    private final Class<?> type;
+    private final Field idField;
+    private final Field versionField;
+    private final List<Field> referenceFields;
+    private final List<Field> lazyFields;
+    private final Map<Field, ColumnFamily> columnFamilies;
+    private final Map<Method, Field> lazyReadMethods = new HashMap<>();
+    private final Map<Method, Field> lazyWriteMethods = new HashMap<>();
+    private final String[] projection;
+    private final String[] lazyProjection;
+    private final Map<String, BeanPropertyDefinition> properties;
+    private final Map<String, Class<?>> primitiveArrayFields;
+    private final Map<String, String> storedNames = new ConcurrentHashMap<>();
+
+    private MapREntityMetadata(Class<?> type) {
+        this.type = type;
+        this.idField = findField(type, Id.class, MapRId.class);
+        this.versionField = findField(type, Version.class);
+        this.referenceFields = findFields(type, Reference.class);
+        this.columnFamilies = findColumnFamilies(type);
+        this.lazyFields = findLazyFields(type, columnFamilies);
+        this.properties = findProperties(type);
+        this.primitiveArrayFields = findPrimitiveArrayFields(type);
+
+        if(!lazyFields.isEmpty()) {
+            for(PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type))
+                for(Field field : lazyFields)
+                    if(field.getName().equals(descriptor.getName())) {
+                        Optional.ofNullable(descriptor.getReadMethod()).ifPresent(m -> lazyReadMethods.put(m, field));
+                        Optional.ofNullable(descriptor.getWriteMethod()).ifPresent(m -> lazyWriteMethods.put(m, field));
+                    }
+
+            Set<String> lazyNames = new HashSet<>();
+            lazyFields.forEach(field -> lazyNames.add(field.getName()));
+
+            List<String> fields = new ArrayList<>();
+            for(BeanPropertyDefinition property : properties.values())
+                if(!lazyNames.contains(property.getInternalName()))
+                    fields.add(property.getName());
+            // Jackson lists renamed properties last, the id is kept in front
+            fields.sort(Comparator.comparing(name -> !name.equals("_id")));
+
+            this.projection = fields.toArray(new String[0]);
+            this.lazyProjection = Stream.concat(Stream.of("_id"), lazyFields.stream().map(this::getFieldName))
+                    .toArray(String[]::new);
+        } else {
+            this.projection = null;
+            this.lazyProjection = null;
+        }
+    }
+
+    public static MapREntityMetadata get(Class<?> type) {
+        return METADATA_CACHE.computeIfAbsent(type, MapREntityMetadata::new);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Field getIdField() {
+        return idField;
+    }
+
+    public Field getVersionField() {
+        return versionField;
+    }
+
+    public boolean isVersioned() {
+        return versionField != null;
+    }
+
+    public Number getVersion(Object entity) {
+        return (Number) ReflectionUtils.getField(versionField, entity);
+    }
+
+    public void setVersion(Object entity, long version) {
+        ReflectionUtils.setField(versionField, entity,
+                DefaultConversionService.getSharedInstance().convert(version, versionField.getType()));
+    }
+
+    public boolean isNew(Object entity) {
+        Number version = getVersion(entity);
+        return version == null || (versionField.getType().isPrimitive() && version.longValue() == 0);
+    }
+
+    public long getInitialVersion() {
+        return versionField.getType().isPrimitive() ? 1L : 0L;
+    }
+
+    public Object getId(Object entity) {
+        if(idField == null)
+            throw new IllegalArgumentException(String.format("%s doesn't have id field", type.getName()));
+
+        return ReflectionUtils.getField(idField, entity);
+    }
+
+    public Object newInstanceWithId(Object id) {
+        if(idField == null)
+            throw new IllegalArgumentException(String.format("%s doesn't have id field", type.getName()));
+
+        Object entity = BeanUtils.instantiateClass(type);
+        ReflectionUtils.setField(idField, entity,
+                DefaultConversionService.getSharedInstance().convert(id, idField.getType()));
+        return entity;
+    }
+
+    public String getFieldName(Field field) {
+        if(field.equals(idField))
+            return "_id";
+
+        BeanPropertyDefinition property = properties.get(field.getName());
+        if(property != null)
+            return property.getName();
+
+        StoredName storedName = field.getAnnotation(StoredName.class);
+        return storedName != null ? storedName.value() : field.getName();
+    }
+
+    public String getStoredName(String propertyPath) {
+        return storedNames.computeIfAbsent(propertyPath, this::resolveStoredName);
+    }
+
+    public Sort getStoredSort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for(Sort.Order order : sort)
+            orders.add(order.withProperty(getStoredName(order.getProperty())));
+
+        return orders.isEmpty() ? sort : Sort.by(orders);
+    }
+
+    public Map<Field, ColumnFamily> getColumnFamilies() {
+        return columnFamilies;
+    }
+
+    public boolean hasColumnFamilies() {
+        return !columnFamilies.isEmpty();
+    }
+
+    public List<Field> getLazyFields() {
+        return lazyFields;
+    }
+
+    public boolean hasLazyFields() {
+        return !lazyFields.isEmpty();
+    }
+
+    public Map<Method, Field> getLazyReadMethods() {
+        return lazyReadMethods;
+    }
+
+    public Map<Method, Field> getLazyWriteMethods() {
+        return lazyWriteMethods;
+    }
+
+    public String[] getProjection() {
+        return projection;
+    }
+
+    public String[] getLazyProjection() {
+        return lazyProjection;
+    }
+
+    public boolean hasLazyValues(Object entity) {
+        for(Field field : lazyFields) {
+            Object value = ReflectionUtils.getField(field, entity);
+            if(value != null && !(field.getType().isPrimitive()
+                    && value.equals(Array.get(Array.newInstance(field.getType(), 1), 0))))
+                return true;
+        }
+
+        return false;
+    }
+
+    public Map<String, Class<?>> getPrimitiveArrayFields() {
+        return primitiveArrayFields;
+    }
+
+    public List<Field> getReferenceFields() {
+        return referenceFields;
+    }
+
+    public boolean hasReferences() {
+        return !referenceFields.isEmpty();
+    }
+
+    public static Class<?> getReferencedType(Field field) {
+        if(Collection.class.isAssignableFrom(field.getType()))
+            return ResolvableType.forField(field).asCollection().resolveGeneric(0);
+
+        return field.getType();
+    }
+
+    private String resolveStoredName(String propertyPath) {
+        StringBuilder storedName = new StringBuilder();
+        MapREntityMetadata metadata = this;
+
+        for(String segment : propertyPath.split("\\.")) {
+            if(storedName.length() > 0)
+                storedName.append('.');
+
+            BeanPropertyDefinition property = metadata != null ? metadata.properties.get(segment) : null;
+            if(property == null) {
+                storedName.append(segment);
+                metadata = null;
+                continue;
+            }
+
+            storedName.append(property.getName());
+
+            JavaType propertyType = property.getPrimaryType();
+            if(propertyType.isArrayType() || propertyType.isCollectionLikeType())
+                propertyType = propertyType.getContentType();
+
+            Class<?> rawType = propertyType.getRawClass();
+            metadata = propertyType.isMapLikeType() || rawType == Object.class || BeanUtils.isSimpleProperty(rawType) ?
+                    null : get(rawType);
+        }
+
+        return storedName.toString();
+    }
+
+    private static Map<String, BeanPropertyDefinition> findProperties(Class<?> type) {
+        Map<String, BeanPropertyDefinition> properties = new LinkedHashMap<>();
+        for(BeanPropertyDefinition property : MapRJsonConverter.getProperties(type))
+            properties.put(property.getInternalName(), property);
+
+        return properties;
+    }
+
+    private static Map<Field, ColumnFamily> findColumnFamilies(Class<?> type) {
+        Map<Field, ColumnFamily> families = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+
+        for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+            for(Field field : c.getDeclaredFields()) {
+                ColumnFamily family = field.getAnnotation(ColumnFamily.class);
+                if(family == null && !field.getType().isPrimitive())
+                    family = AnnotationUtils.findAnnotation(field.getType(), ColumnFamily.class);
+                if(family == null || Modifier.isStatic(field.getModifiers()))
+                    continue;
+
+                if(!names.add(family.value()))
+                    throw new IllegalArgumentException(String.format("%s maps column family %s to more than one field",
+                            type.getName(), family.value()));
+
+                ReflectionUtils.makeAccessible(field);
+                families.put(field, family);
+            }
+
+        return families.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(families);
+    }
+
+    private Map<String, Class<?>> findPrimitiveArrayFields(Class<?> type) {
+        Map<String, Class<?>> fields = new HashMap<>();
+        for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+            for(Field field : c.getDeclaredFields())
+                if(!Modifier.isStatic(field.getModifiers()) && PrimitiveArrays.isSupported(field.getType())
+                        && field.getAnnotation(Compressed.class) == null && field.getAnnotation(Blob.class) == null)
+                    fields.put(getFieldName(field), field.getType());
+
+        return fields.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(fields);
+    }
+
+    private static List<Field> findLazyFields(Class<?> type, Map<Field, ColumnFamily> columnFamilies) {
+        List<Field> fields = new ArrayList<>(findFields(type, Lazy.class));
+        columnFamilies.forEach((field, family) -> {
+            if(family.lazy() && !fields.contains(field))
+                fields.add(field);
+        });
+
+        return fields.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(fields);
+    }
+
+    private static List<Field> findFields(Class<?> type, Class<? extends Annotation> annotation) {
+        List<Field> fields = new ArrayList<>();
+        for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+            for(Field field : c.getDeclaredFields())
+                if(field.getAnnotation(annotation) != null) {
+                    ReflectionUtils.makeAccessible(field);
+                    fields.add(field);
+                }
+
+        return fields.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(fields);
+    }
+
+    @SafeVarargs
+    private static Field findField(Class<?> type, Class<? extends Annotation>... annotations) {
+        for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+            for(Field field : c.getDeclaredFields())
+                for(Class<? extends Annotation> annotation : annotations)
+                    if(field.getAnnotation(annotation) != null) {
+                        ReflectionUtils.makeAccessible(field);
+                        return field;
+                    }
+
+        return null;
+    }
+
+}
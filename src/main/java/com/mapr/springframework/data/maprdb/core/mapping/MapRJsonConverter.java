@@ -1,23 +1,67 @@
 package com.mapr.springframework.data.maprdb.core.mapping;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 
+import java.util.List;
 import java.util.Map;
 
 public class MapRJsonConverter {
 
-    private ObjectMapper mapper;
+    // property names only depend on the annotation introspector, so every converter maps them the same way
+    private final static ObjectMapper NAMING_MAPPER = new ObjectMapper()
+            .setAnnotationIntrospector(new MapRAnnotationIntrospector(null));
+
+    private final ObjectMapper mapper;
+    private ConditionValueBinders conditionValueBinders;
 
     public MapRJsonConverter() {
-        mapper = new ObjectMapper();
-        mapper.setAnnotationIntrospector(new MapRAnnotationIntrospector());
+        this(new MapRConversions());
+    }
+
+    public MapRJsonConverter(MapRConversions conversions) {
+        BlobSerializers.Mappers blobMappers = new BlobSerializers.Mappers((f, m) -> newMapper(f, m, conversions));
+        mapper = newMapper(new JsonFactory(), blobMappers, conversions);
+
+        conditionValueBinders = new ConditionValueBinders();
+        conversions.registerBinders(conditionValueBinders);
+    }
+
+    public ConditionValueBinders getConditionValueBinders() {
+        return conditionValueBinders;
     }
 
     public <T> Map toJson(T objectToConvert) {
-        return mapper.convertValue(objectToConvert, Map.class);
+        return mapper.convertValue(LazyFieldInterceptor.unwrap(objectToConvert, true), Map.class);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> T toObject(Map json, Class<T> entityClass) {
+        Map<String, Class<?>> primitiveArrayFields = MapREntityMetadata.get(entityClass).getPrimitiveArrayFields();
+        if(!primitiveArrayFields.isEmpty())
+            json = PrimitiveArrays.unbox(json, primitiveArrayFields);
+
         return mapper.convertValue(json, entityClass);
     }
+
+    public <T> T convert(Object value, Class<T> type) {
+        return mapper.convertValue(value, type);
+    }
+
+    public static List<BeanPropertyDefinition> getProperties(Class<?> type) {
+        SerializationConfig config = NAMING_MAPPER.getSerializationConfig();
+        return config.introspect(config.constructType(type)).findProperties();
+    }
+
+    private static ObjectMapper newMapper(JsonFactory factory, BlobSerializers.Mappers blobMappers,
+                                          MapRConversions conversions) {
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.setAnnotationIntrospector(new MapRAnnotationIntrospector(blobMappers));
+        mapper.registerModule(OjaiTypeSerializers.getModule());
+        mapper.registerModule(PrimitiveArrays.getModule());
+        mapper.registerModule(conversions.getModule());
+        return mapper;
+    }
 }
@@ -0,0 +1,20 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+@Inherited
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+public @interface NearCache {
+
+    int maxSize() default 1000;
+
+    long ttl() default 60;
+
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    boolean cacheMisses() default true;
+
+}
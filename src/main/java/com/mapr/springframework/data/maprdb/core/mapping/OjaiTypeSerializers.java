@@ -0,0 +1,201 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.ojai.types.ODate;
+import org.ojai.types.OTime;
+import org.ojai.types.OTimestamp;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.function.Function;
+
+public class OjaiTypeSerializers {
+
+    public static Module getModule() {
+        SimpleModule module = new SimpleModule("OjaiTypes");
+
+        addTimestamp(module, Date.class, d -> d.getTime(), m -> new Date(m.toEpochMilli()));
+        addTimestamp(module, Instant.class, Instant::toEpochMilli, Function.identity());
+        addTimestamp(module, LocalDateTime.class, d -> d.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                m -> LocalDateTime.ofInstant(m, ZoneOffset.UTC));
+        addTimestamp(module, OffsetDateTime.class, d -> d.toInstant().toEpochMilli(), m -> m.atOffset(ZoneOffset.UTC));
+        addTimestamp(module, ZonedDateTime.class, d -> d.toInstant().toEpochMilli(), m -> m.atZone(ZoneOffset.UTC));
+        addTimestamp(module, OTimestamp.class, OTimestamp::getMillis, m -> new OTimestamp(m.toEpochMilli()));
+        addTimestamp(module, Timestamp.class, Timestamp::getTime, Timestamp::from);
+
+        add(module, LocalDate.class, OjaiTypeSerializers::toODate, LocalDate::toString, OjaiTypeSerializers::toLocalDate);
+        add(module, ODate.class, d -> d, d -> toLocalDate(d).toString(),
+                v -> toODate(toLocalDate(v)));
+        add(module, LocalTime.class, OjaiTypeSerializers::toOTime, LocalTime::toString, OjaiTypeSerializers::toLocalTime);
+        add(module, OTime.class, t -> t, t -> toLocalTime(t).toString(),
+                v -> toOTime(toLocalTime(v)));
+        add(module, java.sql.Date.class, d -> toODate(d.toLocalDate()), d -> d.toLocalDate().toString(),
+                v -> java.sql.Date.valueOf(toLocalDate(v)));
+        add(module, Time.class, t -> toOTime(t.toLocalTime()), t -> t.toLocalTime().toString(),
+                v -> Time.valueOf(toLocalTime(v)));
+
+        module.addSerializer(BigDecimal.class, new EmbeddingSerializer<>(BigDecimal.class, v -> v,
+                (v, gen) -> gen.writeNumber(v)));
+        module.addDeserializer(BigDecimal.class, new DecimalDeserializer());
+
+        return module;
+    }
+
+    private static <T> void addTimestamp(SimpleModule module, Class<T> type, Function<T, Long> toMillis,
+                                         Function<Instant, T> fromInstant) {
+        module.addSerializer(type, new EmbeddingSerializer<>(type, v -> new OTimestamp(toMillis.apply(v)),
+                (v, gen) -> gen.writeNumber(toMillis.apply(v))));
+        module.addDeserializer(type, new TemporalDeserializer<>(type, v -> fromInstant.apply(toInstant(v))));
+    }
+
+    private static <T> void add(SimpleModule module, Class<T> type, Function<T, Object> toOjai,
+                                Function<T, String> toText, Function<Object, T> fromValue) {
+        module.addSerializer(type, new EmbeddingSerializer<>(type, toOjai,
+                (v, gen) -> gen.writeString(toText.apply(v))));
+        module.addDeserializer(type, new TemporalDeserializer<>(type, fromValue));
+    }
+
+    private static Instant toInstant(Object value) {
+        if(value instanceof OTimestamp)
+            return Instant.ofEpochMilli(((OTimestamp) value).getMillis());
+        if(value instanceof Date)
+            return Instant.ofEpochMilli(((Date) value).getTime());
+        if(value instanceof Number)
+            return Instant.ofEpochMilli(((Number) value).longValue());
+        if(value instanceof ODate || value instanceof LocalDate)
+            return toLocalDate(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        String text = value.toString();
+        try {
+            return OffsetDateTime.parse(text).toInstant();
+        } catch (DateTimeParseException ex) {
+            return LocalDateTime.parse(text).toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if(value instanceof LocalDate)
+            return (LocalDate) value;
+        if(value instanceof ODate)
+            return LocalDate.of(((ODate) value).getYear(), ((ODate) value).getMonth(), ((ODate) value).getDayOfMonth());
+        if(value instanceof String)
+            return LocalDate.parse((String) value);
+
+        return toInstant(value).atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static LocalTime toLocalTime(Object value) {
+        if(value instanceof LocalTime)
+            return (LocalTime) value;
+        if(value instanceof OTime)
+            return LocalTime.ofNanoOfDay(((OTime) value).toTimeInMillis() * 1000000L);
+        if(value instanceof Number)
+            return LocalTime.ofNanoOfDay(((Number) value).longValue() * 1000000L);
+        if(value instanceof String)
+            return LocalTime.parse((String) value);
+
+        return toInstant(value).atOffset(ZoneOffset.UTC).toLocalTime();
+    }
+
+    private static ODate toODate(LocalDate date) {
+        return new ODate(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    private static OTime toOTime(LocalTime time) {
+        return new OTime(time.getHour(), time.getMinute(), time.getSecond(), time.getNano() / 1000000);
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter<T> {
+
+        void write(T value, JsonGenerator gen) throws IOException;
+
+    }
+
+    private static class EmbeddingSerializer<T> extends StdSerializer<T> {
+
+        private final Function<T, Object> toOjai;
+        private final ValueWriter<T> fallback;
+
+        private EmbeddingSerializer(Class<T> type, Function<T, Object> toOjai, ValueWriter<T> fallback) {
+            super(type);
+            this.toOjai = toOjai;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if(gen instanceof TokenBuffer)
+                gen.writeEmbeddedObject(toOjai.apply(value));
+            else
+                fallback.write(value, gen);
+        }
+
+    }
+
+    private static class TemporalDeserializer<T> extends StdScalarDeserializer<T> {
+
+        private final Function<Object, T> fromValue;
+
+        private TemporalDeserializer(Class<T> type, Function<Object, T> fromValue) {
+            super(type);
+            this.fromValue = fromValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.getCurrentToken();
+            try {
+                if(token == JsonToken.VALUE_EMBEDDED_OBJECT)
+                    return fromValue.apply(p.getEmbeddedObject());
+                if(token == JsonToken.VALUE_NUMBER_INT)
+                    return fromValue.apply(p.getLongValue());
+                if(token == JsonToken.VALUE_STRING)
+                    return fromValue.apply(p.getText().trim());
+            } catch (DateTimeParseException ex) {
+                return (T) ctxt.handleWeirdStringValue(handledType(), p.getText(), ex.getMessage());
+            }
+
+            return (T) ctxt.handleUnexpectedToken(handledType(), p);
+        }
+
+    }
+
+    private static class DecimalDeserializer extends StdScalarDeserializer<BigDecimal> {
+
+        private DecimalDeserializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public BigDecimal deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if(p.getCurrentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                Object value = p.getEmbeddedObject();
+                if(value instanceof BigDecimal)
+                    return (BigDecimal) value;
+                if(value instanceof Number)
+                    return new BigDecimal(value.toString());
+            }
+
+            return NumberDeserializers.BigDecimalDeserializer.instance.deserialize(p, ctxt);
+        }
+
+    }
+
+}
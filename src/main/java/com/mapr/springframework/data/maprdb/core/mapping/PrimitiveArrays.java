@@ -0,0 +1,335 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.PrimitiveArrayDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.ojai.Document;
+import org.ojai.DocumentReader;
+
+import java.io.IOException;
+import java.util.*;
+
+public class PrimitiveArrays {
+
+    private final static Class<?>[] TYPES = { int[].class, long[].class, double[].class, float[].class, short[].class };
+
+    public static Module getModule() {
+        SimpleModule module = new SimpleModule("PrimitiveArrays");
+
+        for(Class<?> type : TYPES)
+            add(module, type);
+
+        return module;
+    }
+
+    public static boolean isSupported(Class<?> type) {
+        for(Class<?> supported : TYPES)
+            if(supported == type)
+                return true;
+
+        return false;
+    }
+
+    public static List<Number> asList(Object array) {
+        if(!isSupported(array.getClass()))
+            throw new IllegalArgumentException("Unsupported array type " + array.getClass().getSimpleName());
+
+        return new ArrayView(array);
+    }
+
+    public static Object toArray(List<?> values, Class<?> type) {
+        // views may be shared by cached documents, so entities get their own copy
+        if(values instanceof ArrayView && ((ArrayView) values).array.getClass() == type)
+            return copyOf(((ArrayView) values).array, values.size());
+
+        int size = values.size();
+        if(type == int[].class) {
+            int[] array = new int[size];
+            for(int i = 0; i < size; i++)
+                array[i] = toNumber(values.get(i)).intValue();
+            return array;
+        } else if(type == long[].class) {
+            long[] array = new long[size];
+            for(int i = 0; i < size; i++)
+                array[i] = toNumber(values.get(i)).longValue();
+            return array;
+        } else if(type == double[].class) {
+            double[] array = new double[size];
+            for(int i = 0; i < size; i++)
+                array[i] = toNumber(values.get(i)).doubleValue();
+            return array;
+        } else if(type == float[].class) {
+            float[] array = new float[size];
+            for(int i = 0; i < size; i++)
+                array[i] = toNumber(values.get(i)).floatValue();
+            return array;
+        } else if(type == short[].class) {
+            short[] array = new short[size];
+            for(int i = 0; i < size; i++)
+                array[i] = toNumber(values.get(i)).shortValue();
+            return array;
+        }
+
+        throw new IllegalArgumentException("Unsupported array type " + type.getSimpleName());
+    }
+
+    public static Object read(DocumentReader reader, Class<?> type) {
+        if(!isSupported(type))
+            throw new IllegalArgumentException("Unsupported array type " + type.getSimpleName());
+        if(reader == null || reader.next() != DocumentReader.EventType.START_ARRAY)
+            return null;
+
+        Object array = java.lang.reflect.Array.newInstance(type.getComponentType(), 16);
+        int size = 0;
+        for(DocumentReader.EventType event = reader.next(); event != DocumentReader.EventType.END_ARRAY;
+            event = reader.next()) {
+            if(!isNumber(event))
+                return null;
+
+            if(size == java.lang.reflect.Array.getLength(array))
+                array = copyOf(array, size * 2);
+
+            if(array instanceof int[])
+                ((int[]) array)[size++] = (int) getLong(reader, event);
+            else if(array instanceof long[])
+                ((long[]) array)[size++] = getLong(reader, event);
+            else if(array instanceof double[])
+                ((double[]) array)[size++] = getDouble(reader, event);
+            else if(array instanceof float[])
+                ((float[]) array)[size++] = (float) getDouble(reader, event);
+            else
+                ((short[]) array)[size++] = (short) getLong(reader, event);
+        }
+
+        return copyOf(array, size);
+    }
+
+    public static Map<String, Object> extract(Map<String, Object> json) {
+        Map<String, Object> arrays = null;
+        for(Iterator<Map.Entry<String, Object>> iterator = json.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if(entry.getValue() instanceof ArrayView) {
+                if(arrays == null)
+                    arrays = new LinkedHashMap<>();
+                arrays.put(entry.getKey(), ((ArrayView) entry.getValue()).array);
+                iterator.remove();
+            }
+        }
+
+        return arrays != null ? arrays : Collections.emptyMap();
+    }
+
+    public static void set(Document document, String fieldPath, Object array) {
+        if(array instanceof int[])
+            document.setArray(fieldPath, (int[]) array);
+        else if(array instanceof long[])
+            document.setArray(fieldPath, (long[]) array);
+        else if(array instanceof double[])
+            document.setArray(fieldPath, (double[]) array);
+        else if(array instanceof float[])
+            document.setArray(fieldPath, (float[]) array);
+        else if(array instanceof short[])
+            document.setArray(fieldPath, (short[]) array);
+        else
+            throw new IllegalArgumentException("Unsupported array type " + array.getClass().getSimpleName());
+    }
+
+    public static Map<String, Object> unbox(Map<String, Object> json, Map<String, Class<?>> fields) {
+        Map<String, Object> result = json;
+        for(Map.Entry<String, Class<?>> field : fields.entrySet()) {
+            Object value = json.get(field.getKey());
+            if(!(value instanceof List) || !isNumeric((List<?>) value))
+                continue;
+
+            if(result == json)
+                result = new LinkedHashMap<>(json);
+            result.put(field.getKey(), toArray((List<?>) value, field.getValue()));
+        }
+
+        return result;
+    }
+
+    private static boolean isNumeric(List<?> values) {
+        if(values instanceof ArrayView)
+            return true;
+
+        for(Object value : values)
+            if(!(value instanceof Number))
+                return false;
+
+        return true;
+    }
+
+    private static boolean isNumber(DocumentReader.EventType event) {
+        switch (event) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static long getLong(DocumentReader reader, DocumentReader.EventType event) {
+        switch (event) {
+            case BYTE:
+                return reader.getByte();
+            case SHORT:
+                return reader.getShort();
+            case INT:
+                return reader.getInt();
+            case LONG:
+                return reader.getLong();
+            case FLOAT:
+                return (long) reader.getFloat();
+            default:
+                return (long) reader.getDouble();
+        }
+    }
+
+    private static double getDouble(DocumentReader reader, DocumentReader.EventType event) {
+        switch (event) {
+            case FLOAT:
+                return reader.getFloat();
+            case DOUBLE:
+                return reader.getDouble();
+            default:
+                return getLong(reader, event);
+        }
+    }
+
+    private static Object copyOf(Object array, int length) {
+        if(array instanceof int[])
+            return Arrays.copyOf((int[]) array, length);
+        else if(array instanceof long[])
+            return Arrays.copyOf((long[]) array, length);
+        else if(array instanceof double[])
+            return Arrays.copyOf((double[]) array, length);
+        else if(array instanceof float[])
+            return Arrays.copyOf((float[]) array, length);
+        else
+            return Arrays.copyOf((short[]) array, length);
+    }
+
+    private static Number toNumber(Object value) {
+        if(value instanceof Number)
+            return (Number) value;
+
+        throw new IllegalArgumentException("Cannot convert " + value + " to number");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void add(SimpleModule module, Class<T> type) {
+        module.addSerializer(type, new Serializer<>(type));
+        module.addDeserializer(type, new Deserializer<>(type,
+                (JsonDeserializer<T>) PrimitiveArrayDeserializers.forType(type.getComponentType())));
+    }
+
+    private static class ArrayView extends AbstractList<Number> implements RandomAccess {
+
+        private final Object array;
+
+        private ArrayView(Object array) {
+            this.array = array;
+        }
+
+        @Override
+        public Number get(int index) {
+            if(array instanceof int[])
+                return ((int[]) array)[index];
+            else if(array instanceof long[])
+                return ((long[]) array)[index];
+            else if(array instanceof double[])
+                return ((double[]) array)[index];
+            else if(array instanceof float[])
+                return ((float[]) array)[index];
+            else
+                return ((short[]) array)[index];
+        }
+
+        @Override
+        public int size() {
+            return java.lang.reflect.Array.getLength(array);
+        }
+
+    }
+
+    private static class Serializer<T> extends StdSerializer<T> {
+
+        private Serializer(Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, T value) {
+            return java.lang.reflect.Array.getLength(value) == 0;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if(gen instanceof TokenBuffer) {
+                gen.writeEmbeddedObject(new ArrayView(value));
+                return;
+            }
+
+            int length = java.lang.reflect.Array.getLength(value);
+            if(value instanceof int[])
+                gen.writeArray((int[]) value, 0, length);
+            else if(value instanceof long[])
+                gen.writeArray((long[]) value, 0, length);
+            else if(value instanceof double[])
+                gen.writeArray((double[]) value, 0, length);
+            else if(value instanceof float[]) {
+                gen.writeStartArray(length);
+                for(float number : (float[]) value)
+                    gen.writeNumber(number);
+                gen.writeEndArray();
+            } else {
+                gen.writeStartArray(length);
+                for(short number : (short[]) value)
+                    gen.writeNumber(number);
+                gen.writeEndArray();
+            }
+        }
+
+    }
+
+    private static class Deserializer<T> extends StdDeserializer<T> {
+
+        private final JsonDeserializer<T> delegate;
+
+        private Deserializer(Class<T> type, JsonDeserializer<T> delegate) {
+            super(type);
+            this.delegate = delegate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if(p.getCurrentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                Object value = p.getEmbeddedObject();
+                if(handledType().isInstance(value))
+                    return (T) value;
+                if(value instanceof List)
+                    return (T) toArray((List<?>) value, handledType());
+            }
+
+            return delegate.deserialize(p, ctxt);
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.StdConverter;
+import org.springframework.aop.framework.Advised;
+
+public class ReferenceConverters {
+
+    private ReferenceConverters() {
+    }
+
+    public static Object getId(Object reference) {
+        if(reference instanceof Advised) {
+            Object targetSource = ((Advised) reference).getTargetSource();
+            if(targetSource instanceof LazyReferenceTargetSource)
+                return ((LazyReferenceTargetSource) targetSource).getId();
+        }
+
+        Object entity = LazyFieldInterceptor.unwrap(reference, false);
+        return MapREntityMetadata.get(entity.getClass()).getId(entity);
+    }
+
+    public static class ToId extends StdConverter<Object, Object> {
+
+        @Override
+        public Object convert(Object value) {
+            return getId(value);
+        }
+
+    }
+
+    public static class FromId extends StdConverter<Object, Object> {
+
+        private final Class<?> type;
+
+        public FromId(final Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            return MapREntityMetadata.get(type).newInstanceWithId(value);
+        }
+
+        @Override
+        public JavaType getOutputType(TypeFactory typeFactory) {
+            return typeFactory.constructType(type);
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.mapr.springframework.data.maprdb.core.mapping;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class StringInterner {
+
+    public final static int DEFAULT_SIZE = 1 << 16;
+    public final static int MAX_LENGTH = 128;
+
+    private final static StringInterner DEFAULT = new StringInterner(DEFAULT_SIZE);
+
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+
+    public StringInterner(final int size) {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.table = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public static StringInterner getDefault() {
+        return DEFAULT;
+    }
+
+    public int getCapacity() {
+        return table.length();
+    }
+
+    public String intern(String value) {
+        if(value == null || value.length() > MAX_LENGTH)
+            return value;
+
+        int index = spread(value.hashCode()) & mask;
+        String current = table.get(index);
+        if(value.equals(current))
+            return current;
+
+        table.lazySet(index, value);
+        return value;
+    }
+
+    public String intern(char[] chars, int offset, int length) {
+        if(length > MAX_LENGTH)
+            return new String(chars, offset, length);
+
+        int hash = 0;
+        for(int i = offset; i < offset + length; i++)
+            hash = 31 * hash + chars[i];
+
+        int index = spread(hash) & mask;
+        String current = table.get(index);
+        if(current != null && equals(current, chars, offset, length))
+            return current;
+
+        String value = new String(chars, offset, length);
+        table.lazySet(index, value);
+        return value;
+    }
+
+    private static boolean equals(String value, char[] chars, int offset, int length) {
+        if(value.length() != length)
+            return false;
+
+        for(int i = 0; i < length; i++)
+            if(value.charAt(i) != chars[offset + i])
+                return false;
+
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.mapr.springframework.data.maprdb.repository;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Documented
+public @interface QueryCache {
+
+    long ttl() default 60;
+
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    long maxBytes() default 1024 * 1024;
+
+    boolean decoded() default false;
+
+}
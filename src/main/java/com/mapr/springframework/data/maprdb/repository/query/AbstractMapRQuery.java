@@ -1,12 +1,22 @@
 package com.mapr.springframework.data.maprdb.repository.query;
 
+import com.mapr.springframework.data.maprdb.core.MapRMetrics;
 import com.mapr.springframework.data.maprdb.core.MapROperations;
+import com.mapr.springframework.data.maprdb.core.MapRQueryLog;
+import com.mapr.springframework.data.maprdb.core.MapRQueryCache;
+import com.mapr.springframework.data.maprdb.repository.QueryCache;
 import org.ojai.store.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.RepositoryQuery;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public abstract class AbstractMapRQuery implements RepositoryQuery {
     private final static Logger LOGGER = LoggerFactory.getLogger(AbstractMapRQuery.class);
@@ -14,22 +24,65 @@ public abstract class AbstractMapRQuery implements RepositoryQuery {
     protected final MapROperations operations;
     protected final MapRQueryMethod method;
     protected final Class<?> domainClass;
+    protected final MapRQueryCache queryCache;
 
     public AbstractMapRQuery(MapRQueryMethod method, Class<?> domainClass, MapROperations operations) {
 
         this.method = method;
         this.operations = operations;
         this.domainClass = domainClass;
+
+        QueryCache cache = method.getQueryCacheAnnotation();
+        if(cache != null) {
+            this.queryCache = new MapRQueryCache(cache.timeUnit().toNanos(cache.ttl()), cache.maxBytes(), cache.decoded());
+            operations.registerQueryCache(domainClass, queryCache);
+        } else
+            this.queryCache = null;
     }
 
     @Override
     public Object execute(Object[] parameters) {
+        return execute(operations, method, parameters, this::doExecute);
+    }
+
+    static Object execute(MapROperations operations, MapRQueryMethod method, Object[] parameters,
+                          Function<Object[], Object> query) {
+        MapRQueryLog queryLog = operations.getQueryLog();
+        if(queryLog == null)
+            return executeMeasured(operations, method, parameters, query);
+
+        return queryLog.withContext(method.getRepositoryName() + "." + method.getName(),
+                getParameterMap(method, parameters), () -> executeMeasured(operations, method, parameters, query));
+    }
+
+    private static Object executeMeasured(MapROperations operations, MapRQueryMethod method, Object[] parameters,
+                                          Function<Object[], Object> query) {
+        MapRMetrics metrics = operations.getMetrics();
+        if(metrics == null || !metrics.isEnabled())
+            return query.apply(parameters);
+
+        long start = System.nanoTime();
+        try {
+            return query.apply(parameters);
+        } finally {
+            metrics.recordQuery(method.getRepositoryName(), method.getName(), System.nanoTime() - start);
+        }
+    }
+
+    private Object doExecute(Object[] parameters) {
 
         if(isDeleteQuery()) {
             operations.execute(convertToQuery(parameters), domainClass).forEach(operations::remove);
             return null;
         }
 
+        if(queryCache != null)
+            return convertToFormat(operations.execute(() -> convertToQuery(parameters), domainClass, queryCache,
+                    getCacheKey(parameters)));
+
+        if(method.isStreamQuery() && !isCountQuery() && !isExistsQuery())
+            return operations.stream(convertToQuery(parameters), domainClass);
+
         return convertToFormat(operations.execute(convertToQuery(parameters), domainClass));
     }
 
@@ -38,6 +91,10 @@ public abstract class AbstractMapRQuery implements RepositoryQuery {
         return method;
     }
 
+    public MapRQueryCache getQueryCache() {
+        return queryCache;
+    }
+
     protected abstract Query convertToQuery(Object[] parameters);
 
     protected abstract boolean isCountQuery();
@@ -72,4 +129,18 @@ public abstract class AbstractMapRQuery implements RepositoryQuery {
         return records.size() > 0 ? records.get(0) : null;
     }
 
+    private static Map<String, Object> getParameterMap(MapRQueryMethod method, Object[] parameters) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for(Parameter parameter : method.getParameters())
+            map.put(parameter.getName().orElse(String.valueOf(parameter.getIndex())), parameters[parameter.getIndex()]);
+
+        return map;
+    }
+
+    private static List<Object> getCacheKey(Object[] parameters) {
+        return Arrays.stream(parameters)
+                .map(p -> p instanceof Object[] ? Arrays.asList((Object[]) p) : p)
+                .collect(Collectors.toList());
+    }
+
 }
@@ -22,7 +22,8 @@ public class ConditionBasedMapRQuery extends AbstractMapRQuery {
     @Override
     protected Query convertToQuery(Object[] parameters) {
 
-        QueryCondition condition = QueryUtils.getQueryCondition(operations.getConnection(), tree, parameters);
+        QueryCondition condition = QueryUtils.getQueryCondition(operations.getConnection(), tree, parameters,
+                operations.getConditionValueBinders());
         Query query = operations.getConnection().newQuery().where(condition);
 
         if(isCountQuery())
@@ -31,10 +32,13 @@ public class ConditionBasedMapRQuery extends AbstractMapRQuery {
         if(isExistsQuery())
             query.select("_id").limit(1);
 
-        QueryUtils.addSortToQuery(query, tree.getSort());
+        if(!isCountQuery() && !isExistsQuery())
+            QueryUtils.addProjectionToQuery(query, domainClass);
+
+        QueryUtils.addSortToQuery(query, tree.getSort(), domainClass);
 
         if(method.getParameters().hasSortParameter())
-            QueryUtils.addSortToQuery(query, (Sort) parameters[method.getParameters().getSortIndex()]);
+            QueryUtils.addSortToQuery(query, (Sort) parameters[method.getParameters().getSortIndex()], domainClass);
 
         if(tree.isLimiting()) {
             if(!isTopLimit()) {
@@ -46,7 +50,8 @@ public class ConditionBasedMapRQuery extends AbstractMapRQuery {
         }
 
         if(method.getParameters().hasPageableParameter())
-            QueryUtils.addPageableToQuery(query, (Pageable) parameters[method.getParameters().getPageableIndex()]);
+            QueryUtils.addPageableToQuery(query, (Pageable) parameters[method.getParameters().getPageableIndex()],
+                    domainClass);
 
         return query.build();
     }
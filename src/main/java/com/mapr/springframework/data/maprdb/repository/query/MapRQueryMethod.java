@@ -1,6 +1,8 @@
 package com.mapr.springframework.data.maprdb.repository.query;
 
 import com.mapr.springframework.data.maprdb.repository.Query;
+import com.mapr.springframework.data.maprdb.repository.QueryCache;
+import com.mapr.springframework.data.maprdb.repository.SqlQuery;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -16,14 +18,20 @@ import java.util.Optional;
 public class MapRQueryMethod extends QueryMethod {
 
     private final Method method;
+    private final String repositoryName;
     private final Map<Class<? extends Annotation>, Optional<Annotation>> annotationCache;
 
     public MapRQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
         super(method, metadata, factory);
         this.method = method;
+        this.repositoryName = metadata.getRepositoryInterface().getSimpleName();
         this.annotationCache = new ConcurrentReferenceHashMap<>();
     }
 
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
     public boolean hasAnnotatedQuery() {
         return getQueryAnnotationValue().isPresent();
     }
@@ -36,6 +44,21 @@ public class MapRQueryMethod extends QueryMethod {
         return AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
     }
 
+    public QueryCache getQueryCacheAnnotation() {
+        return AnnotatedElementUtils.findMergedAnnotation(method, QueryCache.class);
+    }
+
+    public boolean hasSqlQuery() {
+        return getSqlQuery() != null;
+    }
+
+    public String getSqlQuery() {
+        return Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, SqlQuery.class))
+                .map(SqlQuery::value)
+                .filter(StringUtils::hasText)
+                .orElse(null);
+    }
+
     private Optional<String> getQueryAnnotationValue() {
         return Optional.ofNullable(getQueryAnnotation())
                 .map(Query::value)
@@ -1,28 +1,36 @@
 package com.mapr.springframework.data.maprdb.repository.query;
 
+import com.mapr.springframework.data.maprdb.core.mapping.ConditionValueBinders;
+import com.mapr.springframework.data.maprdb.core.mapping.MapREntityMetadata;
+import org.ojai.Value;
 import org.ojai.store.Connection;
 import org.ojai.store.Query;
 import org.ojai.store.QueryCondition;
 import org.ojai.store.SortOrder;
-import org.ojai.types.OTimestamp;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
 
-import java.math.BigDecimal;
-import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.regex.Pattern;
 
 public class QueryUtils {
 
     public static QueryCondition getQueryCondition(Connection connection, PartTree tree, Object[] parameters) {
+        return getQueryCondition(connection, tree, parameters, ConditionValueBinders.getDefault());
+    }
+
+    public static QueryCondition getQueryCondition(Connection connection, PartTree tree, Object[] parameters,
+                                                   ConditionValueBinders binders) {
         Iterator parametersIterator = Arrays.asList(parameters).iterator();
+        binders = binders != null ? binders : ConditionValueBinders.getDefault();
 
         QueryCondition conditions = connection.newCondition();
 
         for(PartTree.OrPart orPart : tree) {
-            QueryCondition cond = convertOrPartToQueryCondition(connection, orPart, parametersIterator);
+            QueryCondition cond = convertOrPartToQueryCondition(connection, orPart, parametersIterator, binders);
             if(conditions.isEmpty())
                 conditions.or().condition(cond);
             else
@@ -36,40 +44,97 @@ public class QueryUtils {
     }
 
     public static QueryCondition convertOrPartToQueryCondition(Connection connection, PartTree.OrPart orPart, Iterator itr) {
+        return convertOrPartToQueryCondition(connection, orPart, itr, ConditionValueBinders.getDefault());
+    }
 
-        QueryCondition condition = connection.newCondition();
+    public static QueryCondition convertOrPartToQueryCondition(Connection connection, PartTree.OrPart orPart, Iterator itr,
+                                                               ConditionValueBinders binders) {
+
+        Map<Part, Iterator> arguments = new IdentityHashMap<>();
+        Map<String, List<Part>> elementParts = new HashMap<>();
 
         for(Part p : orPart) {
-            QueryCondition cond = convertPartToQueryCondition(connection, p, itr);
-            if(condition.isEmpty())
-                condition.and().condition(cond);
-            else
-                condition.condition(cond);
+            List<Object> values = new ArrayList<>();
+            for(int i = 0; i < p.getNumberOfArguments(); i++)
+                values.add(itr.next());
+            arguments.put(p, values.iterator());
+
+            List<String> path = getFieldPath(p.getProperty());
+            int element = getElementIndex(path);
+            if(element >= 0)
+                elementParts.computeIfAbsent(joinPath(path, 0, element + 1), k -> new ArrayList<>()).add(p);
+        }
+
+        QueryCondition condition = connection.newCondition().and();
+
+        for(Part p : orPart) {
+            List<String> path = getFieldPath(p.getProperty());
+            int element = getElementIndex(path);
+            String array = element >= 0 ? joinPath(path, 0, element + 1) : null;
+            List<Part> parts = array != null ? elementParts.get(array) : null;
+
+            if(parts == null || parts.size() < 2)
+                addPartCondition(condition, joinPath(path, 0, path.size()), p, arguments.get(p), binders);
+            else if(parts.get(0) == p) {
+                condition.elementAnd(array);
+                for(Part elementPart : parts) {
+                    List<String> elementPath = getFieldPath(elementPart.getProperty());
+                    addPartCondition(condition, joinPath(elementPath, element + 1, elementPath.size()), elementPart,
+                            arguments.get(elementPart), binders);
+                }
+                condition.close();
+            }
         }
 
         return condition.close().build();
     }
 
     public static QueryCondition convertPartToQueryCondition(Connection connection, Part part, Iterator itr) {
+        return convertPartToQueryCondition(connection, part, itr, ConditionValueBinders.getDefault());
+    }
 
-        String name = part.getProperty().getSegment();
+    public static QueryCondition convertPartToQueryCondition(Connection connection, Part part, Iterator itr,
+                                                             ConditionValueBinders binders) {
+        List<String> path = getFieldPath(part.getProperty());
         QueryCondition condition = connection.newCondition();
 
+        addPartCondition(condition, joinPath(path, 0, path.size()), part, itr, binders);
+
+        return condition.build();
+    }
+
+    public static List<String> getFieldPath(PropertyPath property) {
+        List<String> path = new ArrayList<>();
+
+        for(PropertyPath p = property; p != null; p = p.next()) {
+            String name = MapREntityMetadata.get(p.getOwningType().getType()).getStoredName(p.getSegment());
+            path.add(p.isCollection() && p.hasNext() ? name + "[]" : name);
+        }
+
+        return path;
+    }
+
+    private static QueryCondition addPartCondition(QueryCondition condition, String name, Part part, Iterator itr,
+                                                   ConditionValueBinders binders) {
+
+        boolean ignoreCase = part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER;
+        boolean collection = part.getProperty().getLeafProperty().isCollection();
+
         Object parameters;
         switch(part.getType()) {
             case SIMPLE_PROPERTY:
                 parameters = itr.next();
-                if(!(parameters instanceof Collection<?>))
-                    setIsCondition(condition, name, QueryCondition.Op.EQUAL, parameters);
+                if(ignoreCase && parameters instanceof String)
+                    condition.matches(name, getPattern("^", parameters, "$", true));
                 else
-                    throw new UnsupportedOperationException(part.getType().toString() + " method with Example is not supported yet");
+                    binders.bind(condition, name, QueryCondition.Op.EQUAL, parameters);
                 break;
             case NEGATING_SIMPLE_PROPERTY:
                 parameters = itr.next();
-                if(!(parameters instanceof Collection<?>))
-                    setIsCondition(condition, name, QueryCondition.Op.NOT_EQUAL, parameters);
+                if(ignoreCase && parameters instanceof String)
+                    condition.notMatches(name, getPattern("^", parameters, "$", true));
                 else
-                    throw new UnsupportedOperationException(part.getType().toString() + " method with Example is not supported yet");
+                    binders.bind(condition, name, QueryCondition.Op.NOT_EQUAL, parameters);
                 break;
             case LIKE:
                 condition.like(name, itr.next().toString());
@@ -77,6 +142,28 @@ public class QueryUtils {
             case NOT_LIKE:
                 condition.notLike(name, itr.next().toString());
                 break;
+            case STARTING_WITH:
+                condition.matches(name, getPattern("^", itr.next(), ".*", ignoreCase));
+                break;
+            case ENDING_WITH:
+                condition.matches(name, getPattern("^.*", itr.next(), "$", ignoreCase));
+                break;
+            case CONTAINING:
+                if(collection)
+                    binders.bind(condition, name + "[]", QueryCondition.Op.EQUAL, itr.next());
+                else
+                    condition.matches(name, getPattern(".*", itr.next(), ".*", ignoreCase));
+                break;
+            case NOT_CONTAINING:
+                if(collection)
+                    throw new UnsupportedOperationException(part.getType().toString() + " method with collection property is not supported yet");
+                condition.notMatches(name, getPattern(".*", itr.next(), ".*", ignoreCase));
+                break;
+            case REGEX:
+                parameters = itr.next();
+                condition.matches(name, (ignoreCase ? "(?i)" : "") +
+                        (parameters instanceof Pattern ? ((Pattern) parameters).pattern() : parameters.toString()));
+                break;
             case IN:
                 condition.in(name, new ArrayList<>((Collection<?>) itr.next()));
                 break;
@@ -86,17 +173,31 @@ public class QueryUtils {
             case EXISTS:
                 condition.exists(name);
                 break;
+            case IS_NULL:
+                condition.or().notExists(name).typeOf(name, Value.Type.NULL).close();
+                break;
+            case IS_NOT_NULL:
+                condition.and().exists(name).notTypeOf(name, Value.Type.NULL).close();
+                break;
+            case IS_EMPTY:
+                condition.equals(name, Collections.emptyList());
+                break;
+            case IS_NOT_EMPTY:
+                condition.notEquals(name, Collections.emptyList());
+                break;
             case LESS_THAN:
-                setIsCondition(condition, name, QueryCondition.Op.LESS, itr.next());
+            case BEFORE:
+                binders.bind(condition, name, QueryCondition.Op.LESS, itr.next());
                 break;
             case LESS_THAN_EQUAL:
-                setIsCondition(condition, name, QueryCondition.Op.LESS_OR_EQUAL, itr.next());
+                binders.bind(condition, name, QueryCondition.Op.LESS_OR_EQUAL, itr.next());
                 break;
             case GREATER_THAN:
-                setIsCondition(condition, name, QueryCondition.Op.GREATER, itr.next());
+            case AFTER:
+                binders.bind(condition, name, QueryCondition.Op.GREATER, itr.next());
                 break;
             case GREATER_THAN_EQUAL:
-                setIsCondition(condition, name, QueryCondition.Op.GREATER_OR_EQUAL, itr.next());
+                binders.bind(condition, name, QueryCondition.Op.GREATER_OR_EQUAL, itr.next());
                 break;
             case TRUE:
                 condition.is(name, QueryCondition.Op.EQUAL, true);
@@ -106,15 +207,46 @@ public class QueryUtils {
                 break;
             case BETWEEN:
                 condition.and();
-                setIsCondition(condition, name, QueryCondition.Op.GREATER_OR_EQUAL, itr.next());
-                setIsCondition(condition, name, QueryCondition.Op.LESS_OR_EQUAL, itr.next());
+                binders.bind(condition, name, QueryCondition.Op.GREATER_OR_EQUAL, itr.next());
+                binders.bind(condition, name, QueryCondition.Op.LESS_OR_EQUAL, itr.next());
                 condition.close();
                 break;
             default:
                 throw new UnsupportedOperationException(part.getType().toString() + " method is not supported yet");
         }
 
-        return condition.build();
+        return condition;
+    }
+
+    private static String getPattern(String prefix, Object value, String suffix, boolean ignoreCase) {
+        StringBuilder pattern = new StringBuilder(ignoreCase ? "(?i)" : "").append(prefix);
+
+        for(char c : value.toString().toCharArray()) {
+            if("\\^$.|?*+()[]{}".indexOf(c) >= 0)
+                pattern.append('\\');
+            pattern.append(c);
+        }
+
+        return pattern.append(suffix).toString();
+    }
+
+    private static int getElementIndex(List<String> path) {
+        for(int i = 0; i < path.size() - 1; i++)
+            if(path.get(i).endsWith("[]"))
+                return i;
+
+        return -1;
+    }
+
+    private static String joinPath(List<String> path, int from, int to) {
+        return String.join(".", path.subList(from, to));
+    }
+
+    public static Query addPageableToQuery(Query query, Pageable page, Class<?> domainClass) {
+        addSortToQuery(query, page.getSort(), domainClass);
+        addOffsetAndLimitToQuery(query, page.getOffset(), page.getPageSize());
+
+        return query;
     }
 
     public static Query addPageableToQuery(Query query, Pageable page) {
@@ -124,6 +256,10 @@ public class QueryUtils {
         return query;
     }
 
+    public static Query addSortToQuery(Query query, Sort sort, Class<?> domainClass) {
+        return addSortToQuery(query, MapREntityMetadata.get(domainClass).getStoredSort(sort));
+    }
+
     public static Query addSortToQuery(Query query, Sort sort) {
         for(Sort.Order o : sort)
             query = query.orderBy(o.getProperty(), o.isAscending() ? SortOrder.ASC : SortOrder.DESC);
@@ -131,48 +267,17 @@ public class QueryUtils {
         return query;
     }
 
+    public static Query addProjectionToQuery(Query query, Class<?> domainClass) {
+        String[] projection = MapREntityMetadata.get(domainClass).getProjection();
+
+        return projection != null ? query.select(projection) : query;
+    }
+
     public static Query addOffsetAndLimitToQuery(Query query, long offset, long limit) {
         return query.offset(offset).limit(limit);
     }
 
     public static QueryCondition setIsCondition(QueryCondition condition, String name, QueryCondition.Op op, Object object) {
-
-        if(object instanceof BigDecimal)
-            condition.is(name, op, (BigDecimal) object);
-
-        else if(object instanceof Boolean)
-            condition.is(name, op, Boolean.parseBoolean(object.toString()));
-
-        else if(object instanceof Byte)
-            condition.is(name, op, (Byte) object);
-
-        else if(object instanceof ByteBuffer)
-            condition.is(name, op, (ByteBuffer) object);
-
-        else if(object instanceof Double)
-            condition.is(name, op, (Double) object);
-
-        else if(object instanceof Float)
-            condition.is(name, op, (Float) object);
-
-        else if(object instanceof Integer)
-            condition.is(name, op, (Integer) object);
-
-        else if(object instanceof Long)
-            condition.is(name, op, (Long) object);
-
-        else if(object instanceof Short)
-            condition.is(name, op, (Short) object);
-
-        else if(object instanceof Date)
-            condition.is(name, op, new OTimestamp((Date) object));
-
-        else if(object instanceof String)
-            condition.is(name, op, object.toString());
-
-        else
-            throw new UnsupportedOperationException(object.getClass().getCanonicalName() +  " type is not supported");
-
-        return condition;
+        return ConditionValueBinders.getDefault().bind(condition, name, op, object);
     }
 }
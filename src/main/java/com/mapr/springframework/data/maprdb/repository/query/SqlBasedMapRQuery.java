@@ -0,0 +1,85 @@
+package com.mapr.springframework.data.maprdb.repository.query;
+
+import com.mapr.springframework.data.maprdb.core.MapROperations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.RepositoryQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SqlBasedMapRQuery implements RepositoryQuery {
+
+    private final MapRQueryMethod method;
+    private final Class<?> domainClass;
+    private final MapROperations operations;
+    private final String sql;
+
+    public SqlBasedMapRQuery(MapRQueryMethod method, Class<?> domainClass, MapROperations operations) {
+        this.method = method;
+        this.domainClass = domainClass;
+        this.operations = operations;
+        this.sql = method.getSqlQuery();
+
+        if(method.isPageQuery())
+            throw new UnsupportedOperationException("Page is not supported for @SqlQuery methods, use Slice instead");
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        return AbstractMapRQuery.execute(operations, method, parameters, this::doExecute);
+    }
+
+    private Object doExecute(Object[] parameters) {
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(method.getParameters(), parameters);
+
+        List<Object> values = new ArrayList<>();
+        accessor.forEach(values::add);
+
+        String query = sql;
+        Pageable pageable = accessor.getPageable();
+
+        if(method.isSliceQuery() && pageable.isPaged()) {
+            query = sql + " LIMIT ? OFFSET ?";
+            values.add(pageable.getPageSize() + 1L);
+            values.add(pageable.getOffset());
+        }
+
+        ResultProcessor processor = method.getResultProcessor();
+        boolean projecting = processor.getReturnedType().isProjecting() &&
+                processor.getReturnedType().getReturnedType().isInterface();
+
+        Class<?> rowType = projecting ? Map.class : method.getReturnedObjectType();
+        Stream<?> stream = operations.executeSql(domainClass, query, rowType, values.toArray());
+        if(projecting)
+            stream = stream.map(row -> processor.processResult(row));
+
+        if(method.isStreamQuery())
+            return stream;
+
+        try (Stream<?> results = stream) {
+            if(method.isSliceQuery()) {
+                List<Object> content = results.collect(Collectors.toList());
+                boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+                return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+            }
+
+            if(method.isCollectionQuery())
+                return results.collect(Collectors.toList());
+
+            return results.findFirst().orElse(null);
+        }
+    }
+
+    @Override
+    public QueryMethod getQueryMethod() {
+        return method;
+    }
+
+}
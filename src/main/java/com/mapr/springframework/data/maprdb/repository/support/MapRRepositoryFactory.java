@@ -4,6 +4,7 @@ import com.mapr.springframework.data.maprdb.core.MapROperations;
 import com.mapr.springframework.data.maprdb.repository.MapRPersistentEntityInformation;
 import com.mapr.springframework.data.maprdb.repository.query.ConditionBasedMapRQuery;
 import com.mapr.springframework.data.maprdb.repository.query.MapRQueryMethod;
+import com.mapr.springframework.data.maprdb.repository.query.SqlBasedMapRQuery;
 import com.mapr.springframework.data.maprdb.repository.query.StringBasedMapRQuery;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.EntityInformation;
@@ -77,7 +78,9 @@ public class MapRRepositoryFactory extends RepositoryFactorySupport {
 
             final MapRQueryMethod queryMethod = new MapRQueryMethod(method, metadata, factory);
 
-            if (queryMethod.hasAnnotatedQuery()) {
+            if (queryMethod.hasSqlQuery()) {
+                return new SqlBasedMapRQuery(queryMethod, metadata.getDomainType(), operations);
+            } else if (queryMethod.hasAnnotatedQuery()) {
                 return new StringBasedMapRQuery(queryMethod, metadata.getDomainType(), operations);
             } else {
                 return new ConditionBasedMapRQuery(queryMethod, metadata.getDomainType(), operations);
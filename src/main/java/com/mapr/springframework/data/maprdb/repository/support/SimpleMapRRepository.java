@@ -5,6 +5,7 @@ import com.mapr.springframework.data.maprdb.repository.MapRRepository;
 import com.mapr.springframework.data.maprdb.repository.query.QueryUtils;
 import org.ojai.store.Query;
 import org.springframework.data.domain.*;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -126,20 +127,21 @@ public class SimpleMapRRepository<T, ID> implements MapRRepository<T, ID> {
     public List<T> findAll(Sort sort) {
         Query query = maprOperations.getConnection().newQuery();
 
-        QueryUtils.addSortToQuery(query, sort);
+        QueryUtils.addProjectionToQuery(query, domainClass);
+        QueryUtils.addSortToQuery(query, sort, domainClass);
 
         return maprOperations.execute(query.build(), domainClass);
     }
 
     @Override
     public Page<T> findAll(Pageable pageable) {
-        long count = maprOperations.count(domainClass);
-
         Query query = maprOperations.getConnection().newQuery();
-        QueryUtils.addPageableToQuery(query, pageable);
+        QueryUtils.addProjectionToQuery(query, domainClass);
+        QueryUtils.addPageableToQuery(query, pageable, domainClass);
 
         List<T> list = maprOperations.execute(query.build(), domainClass);
 
-        return new PageImpl<>(list, pageable, count);
+        return PageableExecutionUtils.getPage(list, pageable,
+                () -> maprOperations.count(domainClass, maprOperations.getPagingCountMode()));
     }
 }
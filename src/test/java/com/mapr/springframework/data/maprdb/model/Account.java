@@ -0,0 +1,80 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.mapr.springframework.data.maprdb.core.mapping.ColumnFamily;
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import com.mapr.springframework.data.maprdb.core.mapping.StoredName;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+@Document
+public class Account {
+
+    @Id
+    private String id;
+    private String name;
+    @ColumnFamily(value = "settings", lazy = false, inMemory = true)
+    private Settings settings;
+    @StoredName("h")
+    private History history;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public void setSettings(Settings settings) {
+        this.settings = settings;
+    }
+
+    public History getHistory() {
+        return history;
+    }
+
+    public void setHistory(History history) {
+        this.history = history;
+    }
+
+    public static class Settings {
+
+        private String language;
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public void setLanguage(String language) {
+            this.language = language;
+        }
+    }
+
+    @ColumnFamily(value = "cold", ttl = 86400)
+    public static class History {
+
+        private List<String> logins;
+
+        public List<String> getLogins() {
+            return logins;
+        }
+
+        public void setLogins(List<String> logins) {
+            this.logins = logins;
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.mapr.springframework.data.maprdb.core.mapping.Compressed;
+import com.mapr.springframework.data.maprdb.core.mapping.CompressionCodec;
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+import java.util.Map;
+
+@Document
+public class Article {
+
+    @Id
+    private String id;
+    @Compressed
+    private String body;
+    @Compressed(codec = CompressionCodec.DEFLATE, threshold = 16)
+    private Map<String, Object> payload;
+    @Compressed(codec = CompressionCodec.ZSTD)
+    private List<String> tags;
+    @Compressed(threshold = 64)
+    private Revision revision;
+    @Compressed(threshold = 16)
+    private double[] samples;
+    @Compressed(threshold = 16)
+    private AuditEntry audit;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Revision getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Revision revision) {
+        this.revision = revision;
+    }
+
+    public double[] getSamples() {
+        return samples;
+    }
+
+    public void setSamples(double[] samples) {
+        this.samples = samples;
+    }
+
+    public AuditEntry getAudit() {
+        return audit;
+    }
+
+    public void setAudit(AuditEntry audit) {
+        this.audit = audit;
+    }
+}
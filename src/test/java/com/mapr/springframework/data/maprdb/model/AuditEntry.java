@@ -0,0 +1,86 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.mapr.springframework.data.maprdb.core.mapping.Blob;
+import com.mapr.springframework.data.maprdb.core.mapping.BlobFormat;
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+import java.util.Map;
+
+@Document
+public class AuditEntry {
+
+    @Id
+    private String id;
+    private String user;
+    @Blob
+    private Map<String, Object> payload;
+    @Blob(format = BlobFormat.CBOR, lazy = false)
+    private List<String> changes;
+    private Request request;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+    }
+
+    public List<String> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<String> changes) {
+        this.changes = changes;
+    }
+
+    public Request getRequest() {
+        return request;
+    }
+
+    public void setRequest(Request request) {
+        this.request = request;
+    }
+
+    @Blob
+    public static class Request {
+
+        private String method;
+        private String body;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public void setBody(String body) {
+            this.body = body;
+        }
+    }
+
+}
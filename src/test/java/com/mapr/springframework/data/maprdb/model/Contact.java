@@ -0,0 +1,40 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import org.springframework.data.annotation.Id;
+
+@Document
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Contact {
+
+    @Id
+    private String id;
+    private String name;
+    private String email;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+}
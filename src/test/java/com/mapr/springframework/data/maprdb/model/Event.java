@@ -0,0 +1,90 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import com.mapr.springframework.data.maprdb.core.mapping.StoredName;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+@Document
+public class Event {
+
+    @Id
+    private String id;
+    @StoredName("t")
+    private String type;
+    @StoredName("s")
+    private Source source;
+    @StoredName("a")
+    private List<Attribute> attributes;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public void setSource(Source source) {
+        this.source = source;
+    }
+
+    public List<Attribute> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(List<Attribute> attributes) {
+        this.attributes = attributes;
+    }
+
+    public static class Source {
+
+        @StoredName("h")
+        private String host;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+    }
+
+    public static class Attribute {
+
+        @StoredName("k")
+        private String key;
+        private String value;
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import com.mapr.springframework.data.maprdb.core.mapping.Reference;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+@Document
+public class Order {
+
+    @Id
+    private String id;
+    @Reference
+    private User customer;
+    @Reference
+    private List<User> recipients;
+    @Reference(lazy = true)
+    private User approver;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public User getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(User customer) {
+        this.customer = customer;
+    }
+
+    public List<User> getRecipients() {
+        return recipients;
+    }
+
+    public void setRecipients(List<User> recipients) {
+        this.recipients = recipients;
+    }
+
+    public User getApprover() {
+        return approver;
+    }
+
+    public void setApprover(User approver) {
+        this.approver = approver;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import com.mapr.springframework.data.maprdb.core.mapping.Lazy;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+@Document
+public class Profile {
+
+    @Id
+    private String id;
+    @JsonProperty("n")
+    private String name;
+    @Lazy
+    @JsonProperty("b")
+    private String biography;
+    @JsonIgnore
+    private String session;
+    private List<Address> addresses;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBiography() {
+        return biography;
+    }
+
+    public void setBiography(String biography) {
+        this.biography = biography;
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    public void setSession(String session) {
+        this.session = session;
+    }
+
+    public List<Address> getAddresses() {
+        return addresses;
+    }
+
+    public void setAddresses(List<Address> addresses) {
+        this.addresses = addresses;
+    }
+
+    @JsonProperty("d")
+    public String getDisplayName() {
+        return name != null ? name.toUpperCase() : null;
+    }
+
+    public static class Address {
+
+        private String city;
+
+        @JsonProperty("c")
+        public String getCity() {
+            return city;
+        }
+
+        @JsonProperty("c")
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+}
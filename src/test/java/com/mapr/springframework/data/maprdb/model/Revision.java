@@ -0,0 +1,35 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mapr.springframework.data.maprdb.core.mapping.StoredName;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Revision {
+
+    public final static AtomicInteger READS = new AtomicInteger();
+
+    @StoredName("t")
+    private String text;
+    @StoredName("m")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant modified;
+
+    public String getText() {
+        READS.incrementAndGet();
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Instant getModified() {
+        return modified;
+    }
+
+    public void setModified(Instant modified) {
+        this.modified = modified;
+    }
+}
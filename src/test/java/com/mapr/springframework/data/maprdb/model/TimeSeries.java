@@ -0,0 +1,90 @@
+package com.mapr.springframework.data.maprdb.model;
+
+import com.mapr.springframework.data.maprdb.core.mapping.Document;
+import com.mapr.springframework.data.maprdb.core.mapping.StoredName;
+import org.springframework.data.annotation.Id;
+
+@Document
+public class TimeSeries {
+
+    @Id
+    private String id;
+    @StoredName("ts")
+    private long[] timestamps;
+    private double[] values;
+    private int[] counts;
+    private float[] ratios;
+    private short[] flags;
+    private Summary summary;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public void setTimestamps(long[] timestamps) {
+        this.timestamps = timestamps;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public void setValues(double[] values) {
+        this.values = values;
+    }
+
+    public int[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+
+    public float[] getRatios() {
+        return ratios;
+    }
+
+    public void setRatios(float[] ratios) {
+        this.ratios = ratios;
+    }
+
+    public short[] getFlags() {
+        return flags;
+    }
+
+    public void setFlags(short[] flags) {
+        this.flags = flags;
+    }
+
+    public Summary getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Summary summary) {
+        this.summary = summary;
+    }
+
+    public static class Summary {
+
+        private int[] buckets;
+
+        public int[] getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(int[] buckets) {
+            this.buckets = buckets;
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.DrillRowMapper;
+import com.mapr.springframework.data.maprdb.core.aggregation.Aggregation;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.ojai.store.QueryCondition;
+import org.springframework.data.domain.Sort;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+public class AggregationUnitTests {
+
+    public final static String TABLE_NAME = "dfs.`/test/user`";
+
+    @Test
+    public void groupTest() {
+        Aggregation aggregation = Aggregation.newAggregation()
+                .match("enabled", QueryCondition.Op.EQUAL, true)
+                .match("age", QueryCondition.Op.GREATER_OR_EQUAL, 18)
+                .group("address.city")
+                .sum("age", "total")
+                .avg("age", "average")
+                .countDistinct("name", "names")
+                .sort(Sort.by(Sort.Direction.DESC, "total"))
+                .limit(10);
+
+        String expected = "SELECT t.`address`.`city` AS `address_city`, SUM(t.`age`) AS `total`, " +
+                "AVG(t.`age`) AS `average`, COUNT(DISTINCT t.`name`) AS `names` FROM dfs.`/test/user` t " +
+                "WHERE t.`enabled` = ? AND t.`age` >= ? GROUP BY t.`address`.`city` ORDER BY `total` DESC LIMIT 10";
+
+        Assert.assertEquals(expected, aggregation.toSql(TABLE_NAME));
+        Assert.assertArrayEquals(new Object[] { true, 18 }, aggregation.getParameters());
+    }
+
+    @Test
+    public void countTest() {
+        Aggregation aggregation = Aggregation.newAggregation()
+                .min("age", "youngest")
+                .max("age", "oldest")
+                .count("users");
+
+        String expected = "SELECT MIN(t.`age`) AS `youngest`, MAX(t.`age`) AS `oldest`, COUNT(*) AS `users` " +
+                "FROM dfs.`/test/user` t";
+
+        Assert.assertEquals(expected, aggregation.toSql(TABLE_NAME));
+    }
+
+    @Test
+    public void sortByGroupFieldTest() {
+        Aggregation aggregation = Aggregation.newAggregation()
+                .group("address.city")
+                .count("users")
+                .sort(Sort.by("address.city"));
+
+        String expected = "SELECT t.`address`.`city` AS `address_city`, COUNT(*) AS `users` FROM dfs.`/test/user` t " +
+                "GROUP BY t.`address`.`city` ORDER BY t.`address`.`city` ASC";
+
+        Assert.assertEquals(expected, aggregation.toSql(TABLE_NAME));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sortWithoutGroupTest() {
+        Aggregation.newAggregation()
+                .count("users")
+                .sort(Sort.by("name"))
+                .toSql(TABLE_NAME);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sortByUngroupedFieldTest() {
+        Aggregation.newAggregation()
+                .group("address.city")
+                .count("users")
+                .sort(Sort.by("name"))
+                .toSql(TABLE_NAME);
+    }
+
+    @Test
+    public void primitiveArrayRowTest() throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(3);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getObject(1)).thenReturn(10L);
+        when(resultSet.getObject(2)).thenReturn(2.5);
+        when(resultSet.getObject(3)).thenReturn(null);
+
+        DrillRowMapper<double[]> mapper = new DrillRowMapper<>(new MapRJsonConverter(), double[].class);
+
+        Assert.assertArrayEquals(new double[] { 10, 2.5, 0 }, mapper.mapRow(resultSet), 0.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void columnsAreResolvedPerResultSetTest() throws SQLException {
+        DrillRowMapper<Map> mapper = new DrillRowMapper<>(new MapRJsonConverter(), Map.class);
+
+        ResultSet first = getResultSet("name", "age");
+        Assert.assertEquals("john", mapper.mapRow(first).get("name"));
+        Assert.assertEquals(30, mapper.mapRow(first).get("age"));
+
+        ResultSet second = getResultSet("age", "name", "city");
+        Map<String, Object> row = mapper.mapRow(second);
+        Assert.assertEquals("john", row.get("age"));
+        Assert.assertEquals(30, row.get("name"));
+        Assert.assertEquals("london", row.get("city"));
+
+        verify(first, times(1)).getMetaData();
+        verify(second, times(1)).getMetaData();
+    }
+
+    @Test
+    public void dateParameterTest() {
+        Date date = new Date();
+        Aggregation aggregation = Aggregation.newAggregation().match("created", QueryCondition.Op.LESS, date).count("c");
+
+        Assert.assertEquals(new Timestamp(date.getTime()), aggregation.getParameters()[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidFieldTest() {
+        Aggregation.newAggregation().sum("a`b", "total");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void emptyAggregationTest() {
+        Aggregation.newAggregation().toSql(TABLE_NAME);
+    }
+
+    public ResultSet getResultSet(String... labels) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(labels.length);
+        for(int i = 0; i < labels.length; i++)
+            when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getObject(1)).thenReturn("john");
+        when(resultSet.getObject(2)).thenReturn(30);
+        when(resultSet.getObject(3)).thenReturn("london");
+        return resultSet;
+    }
+
+}
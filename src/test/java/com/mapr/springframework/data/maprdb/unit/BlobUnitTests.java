@@ -0,0 +1,109 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mapr.springframework.data.maprdb.core.mapping.BlobFormat;
+import com.mapr.springframework.data.maprdb.core.mapping.BlobTargetSource;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRConversions;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.model.AuditEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class BlobUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+
+    @Test
+    public void blobsAreStoredAsBinaryTest() {
+        Map json = converter.toJson(getEntry());
+
+        Assert.assertEquals("user", json.get("user"));
+        Assert.assertEquals(BlobFormat.SMILE, BlobFormat.detect(getBytes(json.get("payload"))));
+        Assert.assertEquals(BlobFormat.CBOR, BlobFormat.detect(getBytes(json.get("changes"))));
+        Assert.assertEquals(BlobFormat.SMILE, BlobFormat.detect(getBytes(json.get("request"))));
+    }
+
+    @Test
+    public void blobsAreDecodedTest() {
+        AuditEntry entry = getEntry();
+        AuditEntry parsed = converter.toObject(converter.toJson(entry), AuditEntry.class);
+
+        Assert.assertEquals(entry.getPayload(), parsed.getPayload());
+        Assert.assertEquals(entry.getChanges(), parsed.getChanges());
+        Assert.assertEquals("POST", parsed.getRequest().getMethod());
+        Assert.assertEquals("{}", parsed.getRequest().getBody());
+    }
+
+    @Test
+    public void lazyBlobsAreDecodedOnAccessTest() {
+        Map json = converter.toJson(getEntry());
+        AuditEntry parsed = converter.toObject(json, AuditEntry.class);
+
+        BlobTargetSource payload = BlobTargetSource.find(parsed.getPayload());
+        Assert.assertNotNull(payload);
+        Assert.assertNull(BlobTargetSource.find(parsed.getChanges()));
+        Assert.assertFalse(payload.isInitialized());
+
+        Map reserialized = converter.toJson(parsed);
+        Assert.assertFalse(payload.isInitialized());
+        Assert.assertEquals(json.get("payload"), reserialized.get("payload"));
+
+        Assert.assertEquals(2, parsed.getPayload().size());
+        Assert.assertTrue(payload.isInitialized());
+    }
+
+    @Test
+    public void blobsUseConverterConversionsTest() throws Exception {
+        MapRJsonConverter converter = new MapRJsonConverter(new MapRConversions()
+                .register(Locale.class, String.class, Locale::toLanguageTag, Locale::forLanguageTag));
+        AuditEntry entry = getEntry();
+        entry.getPayload().put("locale", Locale.GERMANY);
+
+        Map json = converter.toJson(entry);
+
+        Map stored = new ObjectMapper(new SmileFactory()).readValue(getBytes(json.get("payload")), Map.class);
+        Assert.assertEquals("de-DE", stored.get("locale"));
+    }
+
+    @Test
+    public void plainValuesAreReadTest() {
+        Map<String, Object> json = new HashMap<>();
+        json.put("payload", Collections.singletonMap("key", "value"));
+        json.put("changes", Collections.singletonList("name"));
+
+        AuditEntry parsed = converter.toObject(json, AuditEntry.class);
+
+        Assert.assertEquals(Collections.singletonMap("key", "value"), parsed.getPayload());
+        Assert.assertEquals(Collections.singletonList("name"), parsed.getChanges());
+    }
+
+    public AuditEntry getEntry() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("key", "value");
+        payload.put("count", 10);
+
+        AuditEntry.Request request = new AuditEntry.Request();
+        request.setMethod("POST");
+        request.setBody("{}");
+
+        AuditEntry entry = new AuditEntry();
+        entry.setId("1");
+        entry.setUser("user");
+        entry.setPayload(payload);
+        entry.setChanges(Arrays.asList("name", "email"));
+        entry.setRequest(request);
+        return entry;
+    }
+
+    public byte[] getBytes(Object value) {
+        ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.model.Contact;
+import com.mapr.springframework.data.maprdb.model.Product;
+import com.mapr.springframework.data.maprdb.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.ojai.Document;
+import org.ojai.Value;
+import org.ojai.store.DocumentMutation;
+import org.ojai.store.DocumentStore;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ChangeTrackingSaveUnitTests {
+
+    public DocumentStore store;
+    public MapRTemplate template;
+
+    @Before
+    public void init() throws Exception {
+        store = mock(DocumentStore.class);
+        template = OjaiMocks.getTemplate(OjaiMocks.getConnection(store));
+        template.setChangeTrackingEnabled(true);
+
+        when(store.findById("1")).thenReturn(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "1", "name", "john",
+                "enabled", false, "age", 25)));
+        when(store.findById("2")).thenReturn(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "2", "name", "jane",
+                "email", "jane@example.com")));
+    }
+
+    @Test
+    public void onlyChangedFieldsAreSentTest() {
+        User user = template.findById("1", User.class).get();
+        user.setAge(26);
+
+        template.save(user);
+
+        ArgumentCaptor<DocumentMutation> mutation = ArgumentCaptor.forClass(DocumentMutation.class);
+        verify(store).update(eq("1"), mutation.capture());
+        verify(store, never()).insertOrReplace(any(Document.class));
+
+        ArgumentCaptor<Value> value = ArgumentCaptor.forClass(Value.class);
+        verify(mutation.getValue()).setOrReplace(eq("age"), value.capture());
+        Assert.assertEquals(26, value.getValue().getObject());
+        verify(mutation.getValue(), never()).setOrReplace(eq("name"), any(Value.class));
+        verify(mutation.getValue(), never()).setOrReplace(eq("enabled"), any(Value.class));
+    }
+
+    @Test
+    public void removedFieldsAreDeletedTest() {
+        Contact contact = template.findById("2", Contact.class).get();
+        contact.setEmail(null);
+
+        template.save(contact);
+
+        ArgumentCaptor<DocumentMutation> mutation = ArgumentCaptor.forClass(DocumentMutation.class);
+        verify(store).update(eq("2"), mutation.capture());
+        verify(mutation.getValue()).delete("email");
+        verify(mutation.getValue(), never()).setOrReplace(anyString(), any(Value.class));
+    }
+
+    @Test
+    public void unchangedEntitiesAreNotWrittenTest() {
+        User user = template.findById("1", User.class).get();
+
+        template.save(user);
+
+        verify(store, never()).update(anyString(), any(DocumentMutation.class));
+        verify(store, never()).insertOrReplace(any(Document.class));
+    }
+
+    @Test
+    public void loadedLazyFieldsAreNotWrittenTest() {
+        doAnswer(i -> OjaiMocks.getDocument(Arrays.asList(i.getArguments()).contains("description") ?
+                OjaiMocks.getJson("_id", "p", "description", "text", "images", Collections.singletonList("p.png")) :
+                OjaiMocks.getJson("_id", "p", "name", "product"))).when(store).findById(eq("p"), (String) any());
+
+        Product product = template.findById("p", Product.class).get();
+        product.setName("changed");
+
+        template.save(product);
+
+        ArgumentCaptor<DocumentMutation> mutation = ArgumentCaptor.forClass(DocumentMutation.class);
+        verify(store).update(eq("p"), mutation.capture());
+        verify(mutation.getValue()).setOrReplace(eq("name"), any(Value.class));
+        verify(mutation.getValue(), never()).setOrReplace(eq("description"), any(Value.class));
+        verify(mutation.getValue(), never()).setOrReplace(eq("images"), any(Value.class));
+        verify(mutation.getValue(), never()).delete(anyString());
+    }
+
+    @Test
+    public void untrackedEntitiesAreReplacedTest() {
+        User user = new User();
+        user.setId("3");
+        user.setName("jane");
+
+        template.save(user);
+
+        verify(store).insertOrReplace(any(Document.class));
+        verify(store, never()).update(anyString(), any(DocumentMutation.class));
+    }
+
+}
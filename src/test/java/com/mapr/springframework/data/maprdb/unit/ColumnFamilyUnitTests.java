@@ -0,0 +1,99 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.db.Admin;
+import com.mapr.db.FamilyDescriptor;
+import com.mapr.db.Table;
+import com.mapr.db.TableDescriptor;
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.mapping.ColumnFamily;
+import com.mapr.springframework.data.maprdb.core.mapping.MapREntityMetadata;
+import com.mapr.springframework.data.maprdb.model.Account;
+import org.junit.Assert;
+import org.junit.Test;
+import org.ojai.store.Connection;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.*;
+
+public class ColumnFamilyUnitTests {
+
+    public MapREntityMetadata metadata = MapREntityMetadata.get(Account.class);
+
+    @Test
+    public void columnFamiliesTest() {
+        Map<String, ColumnFamily> families = metadata.getColumnFamilies().entrySet().stream()
+                .collect(Collectors.toMap(e -> metadata.getFieldName(e.getKey()), Map.Entry::getValue));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("settings", "h")), families.keySet());
+        Assert.assertEquals("settings", families.get("settings").value());
+        Assert.assertTrue(families.get("settings").inMemory());
+        Assert.assertEquals("cold", families.get("h").value());
+        Assert.assertEquals(86400, families.get("h").ttl());
+    }
+
+    @Test
+    public void lazyFamiliesAreExcludedFromProjectionTest() {
+        Assert.assertEquals(Collections.singletonList("history"),
+                metadata.getLazyFields().stream().map(Field::getName).collect(Collectors.toList()));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("_id", "name", "settings")),
+                new HashSet<>(Arrays.asList(metadata.getProjection())));
+        Assert.assertArrayEquals(new String[] { "_id", "h" }, metadata.getLazyProjection());
+    }
+
+    @Test
+    public void createTableTest() {
+        TableDescriptor descriptor = mock(TableDescriptor.class);
+        Admin admin = mock(Admin.class);
+        Table table = mock(Table.class);
+        Map<String, FamilyDescriptor> families = new HashMap<>();
+        when(admin.createTable(descriptor)).thenReturn(table);
+
+        MapRTemplate template = new MapRTemplate("test", mock(Connection.class), (java.sql.Connection) null) {
+            @Override
+            protected TableDescriptor newTableDescriptor(String tablePath) {
+                Assert.assertEquals("/test/account", tablePath);
+                return descriptor;
+            }
+
+            @Override
+            protected FamilyDescriptor newFamilyDescriptor(String familyName, String fieldPath) {
+                FamilyDescriptor family = mock(FamilyDescriptor.class, RETURNS_SELF);
+                families.put(familyName + ":" + fieldPath, family);
+                return family;
+            }
+
+            @Override
+            protected Admin newAdmin() {
+                return admin;
+            }
+        };
+
+        Assert.assertSame(table, template.createTable(Account.class));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("settings:settings", "cold:h")), families.keySet());
+        verify(families.get("settings:settings")).setInMemory(true);
+        verify(families.get("cold:h")).setTTL(86400);
+        verify(families.get("cold:h")).setInMemory(false);
+        verify(descriptor).addFamily(families.get("settings:settings"));
+        verify(descriptor).addFamily(families.get("cold:h"));
+        verify(admin).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedFamilyTest() {
+        MapREntityMetadata.get(DuplicatedFamily.class);
+    }
+
+    public static class DuplicatedFamily {
+
+        @ColumnFamily("cold")
+        private String first;
+        @ColumnFamily("cold")
+        private String second;
+
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.mapping.CompressedFieldSerializers;
+import com.mapr.springframework.data.maprdb.core.mapping.CompressionCodec;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.model.Article;
+import com.mapr.springframework.data.maprdb.model.AuditEntry;
+import com.mapr.springframework.data.maprdb.model.Revision;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+public class CompressedFieldUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+
+    @Test
+    public void largeValuesAreCompressedTest() {
+        Article article = new Article();
+        article.setId("1");
+        article.setBody(repeat("lorem ipsum ", 1000));
+        article.setPayload(Collections.singletonMap("text", repeat("payload ", 100)));
+        article.setTags(Collections.nCopies(500, "tag"));
+
+        Map json = converter.toJson(article);
+
+        Assert.assertTrue(json.get("body") instanceof ByteBuffer);
+        Assert.assertTrue(((ByteBuffer) json.get("body")).remaining() < article.getBody().length() / 10);
+        Assert.assertTrue(json.get("payload") instanceof ByteBuffer);
+        Assert.assertTrue(json.get("tags") instanceof ByteBuffer);
+
+        Article parsed = converter.toObject(json, Article.class);
+
+        Assert.assertEquals(article.getBody(), parsed.getBody());
+        Assert.assertEquals(article.getPayload(), parsed.getPayload());
+        Assert.assertEquals(article.getTags(), parsed.getTags());
+    }
+
+    @Test
+    public void smallValuesStayInlineTest() {
+        Article article = new Article();
+        article.setId("1");
+        article.setBody("short");
+        article.setTags(Arrays.asList("a", "b"));
+
+        Map json = converter.toJson(article);
+
+        Assert.assertEquals("short", json.get("body"));
+        Assert.assertEquals(Arrays.asList("a", "b"), json.get("tags"));
+
+        Article parsed = converter.toObject(json, Article.class);
+
+        Assert.assertEquals("short", parsed.getBody());
+        Assert.assertEquals(Arrays.asList("a", "b"), parsed.getTags());
+    }
+
+    @Test
+    public void smallValuesAreSerializedOnceTest() {
+        Article article = new Article();
+        article.setId("1");
+        article.setRevision(new Revision());
+        article.getRevision().setText("short");
+        Revision.READS.set(0);
+
+        Map json = converter.toJson(article);
+
+        Assert.assertEquals(Collections.singletonMap("t", "short"), json.get("revision"));
+        Assert.assertEquals(1, Revision.READS.get());
+        Assert.assertEquals("short", converter.toObject(json, Article.class).getRevision().getText());
+    }
+
+    @Test
+    public void compressedValuesUseConverterMappingTest() {
+        Article article = new Article();
+        article.setId("1");
+        article.setRevision(new Revision());
+        article.getRevision().setText(repeat("revision ", 100));
+
+        Map json = converter.toJson(article);
+
+        byte[] data = CompressedFieldSerializers.decompress((ByteBuffer) json.get("revision"));
+        Assert.assertTrue(new String(data, StandardCharsets.UTF_8).startsWith("{\"t\":"));
+        Assert.assertEquals(article.getRevision().getText(),
+                converter.toObject(json, Article.class).getRevision().getText());
+    }
+
+    @Test
+    public void embeddedValuesAreCompressedTest() {
+        Article article = new Article();
+        article.setId("1");
+        article.setRevision(new Revision());
+        article.getRevision().setText(repeat("revision ", 100));
+        article.getRevision().setModified(Instant.ofEpochMilli(1500000000000L));
+
+        Map json = converter.toJson(article);
+
+        Assert.assertTrue(json.get("revision") instanceof ByteBuffer);
+        Revision parsed = converter.toObject(json, Article.class).getRevision();
+        Assert.assertEquals(article.getRevision().getText(), parsed.getText());
+        Assert.assertEquals(article.getRevision().getModified(), parsed.getModified());
+    }
+
+    @Test
+    public void primitiveArraysAreCompressedTest() {
+        Article article = new Article();
+        article.setId("1");
+        article.setSamples(new double[100]);
+        Arrays.fill(article.getSamples(), 0.5);
+
+        Map json = converter.toJson(article);
+
+        Assert.assertTrue(json.get("samples") instanceof ByteBuffer);
+        Assert.assertArrayEquals(article.getSamples(), converter.toObject(json, Article.class).getSamples(), 0);
+    }
+
+    @Test
+    public void blobsAreCompressedTest() {
+        Article article = new Article();
+        article.setId("1");
+        article.setAudit(new AuditEntry());
+        article.getAudit().setChanges(Collections.nCopies(50, "change"));
+
+        Map json = converter.toJson(article);
+
+        Assert.assertTrue(json.get("audit") instanceof ByteBuffer);
+        Assert.assertEquals(article.getAudit().getChanges(),
+                converter.toObject(json, Article.class).getAudit().getChanges());
+    }
+
+    @Test
+    public void codecsRoundTripTest() {
+        byte[] data = repeat("0123456789", 100).getBytes(StandardCharsets.UTF_8);
+
+        for(CompressionCodec codec : CompressionCodec.values())
+            Assert.assertArrayEquals(data, CompressedFieldSerializers.decompress(
+                    CompressedFieldSerializers.compress(data, codec)));
+    }
+
+    @Test
+    public void uncompressedBinaryIsIgnoredTest() {
+        Assert.assertNull(CompressedFieldSerializers.decompress(ByteBuffer.wrap(new byte[] { 1, 2, 3 })));
+    }
+
+    public String repeat(String value, int count) {
+        return String.join("", Collections.nCopies(count, value));
+    }
+
+}
@@ -37,6 +37,7 @@ public class ConditionBasedQueryUnitTests {
         operations = mock(MapRTemplate.class);
         when(operations.getConnection()).thenReturn(connection);
         when(operations.execute(any(Query.class), any())).thenReturn(users);
+        when(operations.stream(any(Query.class), any())).thenAnswer(i -> users.stream());
 
         factory = new MapRRepositoryFactory(operations);
         factory.setQueryLookupStrategyKey(CREATE_IF_NOT_FOUND);
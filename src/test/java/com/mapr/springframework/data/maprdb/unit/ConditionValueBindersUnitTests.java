@@ -0,0 +1,109 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.mapping.ConditionValueBinders;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRConversions;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.ojai.store.QueryCondition;
+import org.ojai.types.ODate;
+import org.ojai.types.OTime;
+import org.ojai.types.OTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ConditionValueBindersUnitTests {
+
+    public ConditionValueBinders binders = new ConditionValueBinders();
+    public QueryCondition condition;
+
+    @Before
+    public void init() {
+        condition = mock(QueryCondition.class, RETURNS_SELF);
+    }
+
+    @Test
+    public void simpleTypesTest() {
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, true);
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, 10);
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, "value");
+
+        verify(condition).is("f", QueryCondition.Op.EQUAL, true);
+        verify(condition).is("f", QueryCondition.Op.EQUAL, 10);
+        verify(condition).is("f", QueryCondition.Op.EQUAL, "value");
+    }
+
+    @Test
+    public void temporalTypesTest() {
+        binders.bind(condition, "f", QueryCondition.Op.GREATER, Instant.now());
+        binders.bind(condition, "f", QueryCondition.Op.GREATER, new Date());
+        binders.bind(condition, "f", QueryCondition.Op.LESS, LocalDate.now());
+        binders.bind(condition, "f", QueryCondition.Op.LESS, LocalTime.now());
+
+        verify(condition, times(2)).is(eq("f"), eq(QueryCondition.Op.GREATER), any(OTimestamp.class));
+        verify(condition).is(eq("f"), eq(QueryCondition.Op.LESS), any(ODate.class));
+        verify(condition).is(eq("f"), eq(QueryCondition.Op.LESS), any(OTime.class));
+    }
+
+    @Test
+    public void enumAndUuidTest() {
+        UUID uuid = UUID.randomUUID();
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, QueryCondition.Op.LESS);
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, uuid);
+
+        verify(condition).is("f", QueryCondition.Op.EQUAL, "LESS");
+        verify(condition).is("f", QueryCondition.Op.EQUAL, uuid.toString());
+    }
+
+    @Test
+    public void collectionTest() {
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, new HashSet<>(Collections.singleton("a")));
+
+        verify(condition).equals("f", Collections.singletonList("a"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void unsupportedTypeTest() {
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, new Object());
+    }
+
+    @Test
+    public void registeredBinderTest() {
+        binders.register(Locale.class, (c, f, op, v) -> c.is(f, op, v.toLanguageTag()));
+        binders.bind(condition, "f", QueryCondition.Op.EQUAL, Locale.GERMANY);
+
+        verify(condition).is("f", QueryCondition.Op.EQUAL, "de-DE");
+    }
+
+    @Test
+    public void conversionsAreSharedTest() {
+        MapRConversions conversions = new MapRConversions()
+                .register(Locale.class, String.class, Locale::toLanguageTag, Locale::forLanguageTag);
+        MapRJsonConverter converter = new MapRJsonConverter(conversions);
+
+        converter.getConditionValueBinders().bind(condition, "f", QueryCondition.Op.EQUAL, Locale.GERMANY);
+        verify(condition).is("f", QueryCondition.Op.EQUAL, "de-DE");
+
+        Settings settings = new Settings();
+        settings.locale = Locale.GERMANY;
+
+        Map json = converter.toJson(settings);
+        Assert.assertEquals("de-DE", json.get("locale"));
+        Assert.assertEquals(Locale.GERMANY, converter.toObject(json, Settings.class).locale);
+    }
+
+    public static class Settings {
+
+        public Locale locale;
+
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.db.Table;
+import com.mapr.db.TabletInfo;
+import com.mapr.springframework.data.maprdb.core.CountMode;
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.ojai.Document;
+import org.ojai.store.Connection;
+import org.ojai.store.DocumentStore;
+import org.ojai.store.Query;
+import org.ojai.store.QueryCondition;
+import org.ojai.store.QueryResult;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CountUnitTests {
+
+    public DocumentStore store;
+    public java.sql.Connection drillConnection;
+    public PreparedStatement statement;
+    public Table table;
+    public List<QueryResult> streams = Collections.synchronizedList(new ArrayList<>());
+    public MapRTemplate template;
+
+    @Before
+    public void init() throws Exception {
+        store = mock(DocumentStore.class);
+        Connection connection = OjaiMocks.getConnection(store);
+
+        AtomicInteger tablets = new AtomicInteger();
+        when(store.find(any(Query.class))).thenAnswer(i -> {
+            List<Document> documents = new ArrayList<>();
+            int size = tablets.incrementAndGet();
+            for(int j = 0; j < size; j++)
+                documents.add(OjaiMocks.getDocument(OjaiMocks.getJson("_id", String.valueOf(j))));
+            QueryResult stream = OjaiMocks.getStream(null, documents);
+            streams.add(stream);
+            return stream;
+        });
+
+        table = mock(Table.class);
+        TabletInfo[] tabletInfos = { getTabletInfo(10), getTabletInfo(20) };
+        when(table.getTabletInfos()).thenReturn(tabletInfos);
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(42L);
+        statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        drillConnection = mock(java.sql.Connection.class);
+        when(drillConnection.prepareStatement(anyString())).thenReturn(statement);
+
+        template = new MapRTemplate("test", connection, drillConnection) {
+            @Override
+            protected Table getTable(String tablePath) {
+                return table;
+            }
+        };
+    }
+
+    @Test
+    public void drillCountTest() throws Exception {
+        Assert.assertEquals(42L, template.count(User.class, CountMode.DRILL));
+
+        verify(drillConnection).prepareStatement("SELECT COUNT(*) FROM dfs.`/test/user`");
+        verify(store, never()).find(any(Query.class));
+    }
+
+    @Test
+    public void nativeCountTest() {
+        Assert.assertEquals(3L, template.count(User.class, CountMode.NATIVE));
+
+        verify(store, times(2)).find(any(Query.class));
+        verify(store, times(2)).close();
+        streams.forEach(s -> verify(s).close());
+        verify(table).close();
+    }
+
+    @Test
+    public void nativeCountClosesStoreOnFailureTest() {
+        when(store.find(any(Query.class))).thenThrow(new IllegalStateException("Tablet is offline"));
+
+        try {
+            template.count(User.class, CountMode.NATIVE);
+            Assert.fail();
+        } catch (RuntimeException ex) {
+            verify(store, times(2)).close();
+        }
+    }
+
+    @Test
+    public void estimatedCountTest() {
+        Assert.assertEquals(30L, template.count(User.class, CountMode.ESTIMATED));
+
+        verify(store, never()).find(any(Query.class));
+        verify(table).close();
+    }
+
+    @Test
+    public void maintainedCountTest() {
+        template.setCountMaintenanceEnabled(true);
+        template.setScanExecutor(task -> {});
+
+        Assert.assertEquals(30L, template.count(User.class, CountMode.MAINTAINED));
+
+        template.insert(getUser("1"));
+        Assert.assertEquals(31L, template.count(User.class, CountMode.MAINTAINED));
+    }
+
+    @Test
+    public void maintainedCountCountsOnlyActualDeletesTest() {
+        template.setCountMaintenanceEnabled(true);
+        template.setScanExecutor(task -> {});
+        when(store.checkAndDelete(eq("1"), any(QueryCondition.class))).thenReturn(true);
+        when(store.checkAndDelete(eq("2"), any(QueryCondition.class))).thenReturn(false);
+
+        Assert.assertEquals(30L, template.count(User.class, CountMode.MAINTAINED));
+
+        template.removeById("1", User.class);
+        template.removeById("2", User.class);
+        template.remove(getUser("2"));
+
+        Assert.assertEquals(29L, template.count(User.class, CountMode.MAINTAINED));
+    }
+
+    @Test
+    public void replacedEntityForcesReconciliationTest() {
+        List<Runnable> reconciliations = new ArrayList<>();
+        template.setCountMaintenanceEnabled(true);
+        template.setCountReconciliationIntervalMillis(TimeUnit.HOURS.toMillis(1));
+        template.setCountReconciliationMinGapMillis(0);
+        template.setScanExecutor(reconciliations::add);
+
+        template.count(User.class, CountMode.MAINTAINED);
+        reconciliations.forEach(Runnable::run);
+        reconciliations.clear();
+        Assert.assertEquals(42L, template.count(User.class, CountMode.MAINTAINED));
+        Assert.assertTrue(reconciliations.isEmpty());
+
+        template.save(getUser("1"));
+        Assert.assertEquals(42L, template.count(User.class, CountMode.MAINTAINED));
+        Assert.assertEquals(1, reconciliations.size());
+    }
+
+    @Test
+    public void steadyWritesReconcileOncePerGapTest() {
+        List<Runnable> reconciliations = new ArrayList<>();
+        template.setCountMaintenanceEnabled(true);
+        template.setCountReconciliationIntervalMillis(TimeUnit.HOURS.toMillis(1));
+        template.setScanExecutor(reconciliations::add);
+
+        for(int i = 0; i < 50; i++) {
+            template.save(getUser(String.valueOf(i)));
+            template.count(User.class, CountMode.MAINTAINED);
+            template.count(User.class, CountMode.MAINTAINED);
+        }
+
+        Assert.assertEquals(1, reconciliations.size());
+        reconciliations.forEach(Runnable::run);
+        reconciliations.clear();
+
+        for(int i = 0; i < 50; i++) {
+            template.save(getUser(String.valueOf(i)));
+            template.count(User.class, CountMode.MAINTAINED);
+        }
+
+        Assert.assertTrue(reconciliations.isEmpty());
+        Assert.assertEquals(42L, template.count(User.class, CountMode.MAINTAINED));
+    }
+
+    @Test
+    public void removeAllResetsMaintainedCountTest() {
+        template.setCountMaintenanceEnabled(true);
+        template.setScanExecutor(task -> {});
+
+        Assert.assertEquals(30L, template.count(User.class, CountMode.MAINTAINED));
+
+        template.removeAll(User.class);
+        Assert.assertEquals(0L, template.count(User.class, CountMode.MAINTAINED));
+    }
+
+    @Test
+    public void maintainedCountWithoutMaintenanceTest() {
+        Assert.assertEquals(30L, template.count(User.class, CountMode.MAINTAINED));
+
+        template.insert(getUser("1"));
+        Assert.assertEquals(30L, template.count(User.class, CountMode.MAINTAINED));
+    }
+
+    public TabletInfo getTabletInfo(long estimatedNumRows) {
+        TabletInfo tabletInfo = mock(TabletInfo.class);
+        when(tabletInfo.getCondition()).thenReturn(mock(QueryCondition.class));
+        when(tabletInfo.getEstimatedNumRows()).thenReturn(estimatedNumRows);
+        return tabletInfo;
+    }
+
+    public User getUser(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("name");
+        return user;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.model.Event;
+import com.mapr.springframework.data.maprdb.repository.query.QueryUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.ojai.Value;
+import org.ojai.store.Connection;
+import org.ojai.store.QueryCondition;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.mockito.Mockito.*;
+
+public class DerivedQueryConditionUnitTests {
+
+    public Connection connection;
+    public QueryCondition condition;
+
+    @Before
+    public void init() {
+        condition = mock(QueryCondition.class, RETURNS_SELF);
+        connection = mock(Connection.class);
+        when(connection.newCondition()).thenReturn(condition);
+    }
+
+    @Test
+    public void nestedPathTest() {
+        convert("findBySourceHost", "host");
+
+        verify(condition).is("s.h", QueryCondition.Op.EQUAL, "host");
+    }
+
+    @Test
+    public void arrayElementPathTest() {
+        convert("findByAttributesKey", "key");
+
+        verify(condition).is("a[].k", QueryCondition.Op.EQUAL, "key");
+    }
+
+    @Test
+    public void elementAndTest() {
+        convert("findByTypeAndAttributesKeyAndAttributesValueStartingWith", "click", "key", "va.");
+
+        InOrder inOrder = inOrder(condition);
+        inOrder.verify(condition).is("t", QueryCondition.Op.EQUAL, "click");
+        inOrder.verify(condition).elementAnd("a[]");
+        inOrder.verify(condition).is("k", QueryCondition.Op.EQUAL, "key");
+        inOrder.verify(condition).matches("value", "^va\\..*");
+        inOrder.verify(condition, times(2)).close();
+    }
+
+    @Test
+    public void stringOperatorsTest() {
+        convert("findByTypeStartingWithAndTypeEndingWithAndTypeContainingAndTypeNotContaining",
+                "a", "b", "c", "d");
+
+        verify(condition).matches("t", "^a.*");
+        verify(condition).matches("t", "^.*b$");
+        verify(condition).matches("t", ".*c.*");
+        verify(condition).notMatches("t", ".*d.*");
+    }
+
+    @Test
+    public void ignoreCaseTest() {
+        convert("findByTypeIgnoreCase", "Click");
+
+        verify(condition).matches("t", "(?i)^Click$");
+    }
+
+    @Test
+    public void regexTest() {
+        convert("findByTypeRegex", "cl[io]ck");
+
+        verify(condition).matches("t", "cl[io]ck");
+    }
+
+    @Test
+    public void nullTest() {
+        convert("findByTypeIsNullAndSourceIsNotNull");
+
+        verify(condition).notExists("t");
+        verify(condition).typeOf("t", Value.Type.NULL);
+        verify(condition).exists("s");
+        verify(condition).notTypeOf("s", Value.Type.NULL);
+    }
+
+    @Test
+    public void collectionTest() {
+        convert("findByAttributesContaining", "attribute");
+        verify(condition).is("a[]", QueryCondition.Op.EQUAL, "attribute");
+
+        convert("findByAttributes", Collections.singletonList("attribute"));
+        verify(condition).equals("a", Collections.singletonList("attribute"));
+    }
+
+    @Test
+    public void afterBeforeTest() {
+        convert("findByTypeAfter", 1L);
+        convert("findByTypeBefore", 2L);
+
+        verify(condition).is("t", QueryCondition.Op.GREATER, 1L);
+        verify(condition).is("t", QueryCondition.Op.LESS, 2L);
+    }
+
+    public void convert(String method, Object... parameters) {
+        PartTree tree = new PartTree(method, Event.class);
+        Iterator itr = Arrays.asList(parameters).iterator();
+
+        QueryUtils.convertOrPartToQueryCondition(connection, tree.iterator().next(), itr);
+    }
+
+}
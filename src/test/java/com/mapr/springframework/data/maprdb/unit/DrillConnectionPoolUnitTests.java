@@ -0,0 +1,197 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.DrillConnectionPool;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DrillConnectionPoolUnitTests {
+
+    public final static String QUERY = "SELECT COUNT(*) FROM dfs.`/test/user`";
+
+    public Connection connection;
+    public PreparedStatement statement;
+    public AtomicInteger openedConnections;
+    public DrillConnectionPool pool;
+
+    @Before
+    public void init() throws SQLException {
+        ResultSet resultSet = getResultSet();
+
+        statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        openedConnections = new AtomicInteger();
+        pool = new DrillConnectionPool(() -> {
+            openedConnections.incrementAndGet();
+            return connection;
+        }, 2, 30);
+    }
+
+    @Test
+    public void lazyConnectionTest() throws SQLException {
+        Assert.assertEquals(0, openedConnections.get());
+
+        Assert.assertEquals(100L, (long) pool.query(QUERY, this::getCount));
+        Assert.assertEquals(1, openedConnections.get());
+    }
+
+    @Test
+    public void cachedStatementTest() throws SQLException {
+        pool.query(QUERY, this::getCount);
+        pool.query(QUERY, this::getCount);
+
+        Assert.assertEquals(1, openedConnections.get());
+        verify(connection, times(1)).prepareStatement(QUERY);
+        verify(statement, times(1)).setQueryTimeout(30);
+        verify(statement, times(2)).executeQuery();
+    }
+
+    @Test
+    public void parametersTest() throws SQLException {
+        pool.query(QUERY, this::getCount, "name", 10);
+
+        verify(statement).setObject(1, "name");
+        verify(statement).setObject(2, 10);
+    }
+
+    @Test
+    public void brokenConnectionTest() throws SQLException {
+        when(statement.executeQuery()).thenThrow(new SQLException("Drill is down", "08006"));
+
+        try {
+            pool.query(QUERY, this::getCount);
+            Assert.fail();
+        } catch (SQLException ex) {
+            verify(connection).close();
+        }
+    }
+
+    @Test
+    public void failedQueryKeepsConnectionTest() throws SQLException {
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(statement.executeQuery()).thenThrow(new SQLException("Column not found", "42000"));
+
+        for(int i = 0; i < 2; i++) {
+            try {
+                pool.query(QUERY, this::getCount);
+                Assert.fail();
+            } catch (SQLException ex) {
+                Assert.assertEquals("42000", ex.getSQLState());
+            }
+        }
+
+        Assert.assertEquals(1, openedConnections.get());
+        verify(connection, never()).close();
+    }
+
+    @Test
+    public void invalidConnectionIsDiscardedTest() throws SQLException {
+        when(connection.isValid(anyInt())).thenReturn(false);
+        when(statement.executeQuery()).thenThrow(new SQLException("Query failed"));
+
+        try {
+            pool.query(QUERY, this::getCount);
+            Assert.fail();
+        } catch (SQLException ex) {
+            verify(connection).close();
+        }
+    }
+
+    @Test
+    public void sharedConnectionIsNotClosedTest() throws SQLException {
+        DrillConnectionPool pool = DrillConnectionPool.forConnection(connection);
+        when(statement.executeQuery()).thenThrow(new SQLException("Drill is down", "08006"))
+                .thenAnswer(i -> getResultSet());
+
+        try {
+            pool.query(QUERY, this::getCount);
+            Assert.fail();
+        } catch (SQLException ex) {
+            Assert.assertEquals(100L, (long) pool.query(QUERY, this::getCount));
+        }
+
+        pool.close();
+        verify(connection, never()).close();
+    }
+
+    @Test
+    public void closedPoolClosesConnectionsTest() throws SQLException {
+        pool.query(QUERY, this::getCount);
+        pool.close();
+
+        verify(connection).close();
+        try {
+            pool.query(QUERY, this::getCount);
+            Assert.fail();
+        } catch (SQLException ex) {
+            Assert.assertEquals(1, openedConnections.get());
+        }
+    }
+
+    @Test
+    public void abandonedStreamIsReclaimedTest() throws Exception {
+        pool.setLeaseTimeoutMillis(1);
+        Stream<Long> abandoned = pool.stream(QUERY, r -> r.getLong(1));
+        Assert.assertEquals(100L, (long) abandoned.iterator().next());
+        pool.stream(QUERY, r -> r.getLong(1));
+        Assert.assertEquals(2, pool.getActiveStreams());
+
+        Thread.sleep(5);
+
+        Assert.assertEquals(100L, (long) pool.query(QUERY, this::getCount));
+        Assert.assertEquals(0, pool.getActiveStreams());
+        Assert.assertEquals(2, openedConnections.get());
+        try {
+            abandoned.iterator().hasNext();
+            Assert.fail();
+        } catch (IllegalStateException ex) {
+            abandoned.close();
+        }
+    }
+
+    @Test
+    public void closedStreamReleasesLeaseTest() throws SQLException {
+        pool.stream(QUERY, r -> r.getLong(1)).close();
+        pool.stream(QUERY, r -> r.getLong(1)).close();
+
+        Assert.assertEquals(0, pool.getActiveStreams());
+        Assert.assertEquals(1, openedConnections.get());
+    }
+
+    @Test(expected = SQLException.class)
+    public void unavailableDrillTest() throws SQLException {
+        DrillConnectionPool pool = new DrillConnectionPool(() -> {
+            throw new IllegalStateException("Drill is down");
+        }, 1, 0);
+
+        pool.query(QUERY, this::getCount);
+    }
+
+    public ResultSet getResultSet() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(100L);
+        return resultSet;
+    }
+
+    public long getCount(ResultSet resultSet) throws SQLException {
+        resultSet.next();
+        return resultSet.getLong(1);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.core.mapping.StringInterner;
+import com.mapr.springframework.data.maprdb.model.Shipment;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InternedStringUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+
+    @Test
+    public void internedFieldsShareInstancesTest() {
+        Shipment first = converter.toObject(getJson(), Shipment.class);
+        Shipment second = converter.toObject(getJson(), Shipment.class);
+
+        Assert.assertEquals("SHIPPED", first.getStatus());
+        Assert.assertSame(first.getStatus(), second.getStatus());
+        Assert.assertSame(first.getTags().get(0), second.getTags().get(0));
+        Assert.assertSame(first.getTags().get(1), second.getTags().get(1));
+        Assert.assertNotSame(first.getNote(), second.getNote());
+    }
+
+    @Test
+    public void internedTypesShareInstancesTest() {
+        Shipment first = converter.toObject(getJson(), Shipment.class);
+        Shipment second = converter.toObject(getJson(), Shipment.class);
+
+        Assert.assertEquals("PL", first.getAddress().getCountry());
+        Assert.assertSame(first.getAddress().getCountry(), second.getAddress().getCountry());
+        Assert.assertSame(first.getAddress().getCity(), second.getAddress().getCity());
+    }
+
+    @Test
+    public void charactersAreInternedWithoutCopyTest() {
+        StringInterner interner = new StringInterner(16);
+        char[] buffer = "xxPENDINGxx".toCharArray();
+
+        String value = interner.intern(buffer, 2, 7);
+
+        Assert.assertEquals("PENDING", value);
+        Assert.assertSame(value, interner.intern(buffer, 2, 7));
+        Assert.assertSame(value, interner.intern(new String("PENDING")));
+    }
+
+    @Test
+    public void internerIsBoundedTest() {
+        StringInterner interner = new StringInterner(4);
+        Assert.assertEquals(4, interner.getCapacity());
+
+        List<String> values = new ArrayList<>();
+        for(int i = 0; i < 1000; i++)
+            values.add(interner.intern(new String("value" + i)));
+
+        int retained = 0;
+        for(int i = values.size() - 1; i >= 0; i--)
+            if(interner.intern(new String(values.get(i))) == values.get(i))
+                retained++;
+
+        Assert.assertTrue(retained > 0);
+        Assert.assertTrue(retained <= interner.getCapacity());
+        Assert.assertNull(interner.intern((String) null));
+    }
+
+    public Map<String, Object> getJson() {
+        Map<String, Object> address = new HashMap<>();
+        address.put("country", new String("PL"));
+        address.put("city", new String("Warsaw"));
+
+        Map<String, Object> json = new HashMap<>();
+        json.put("_id", "1");
+        json.put("status", new String("SHIPPED"));
+        json.put("tags", Arrays.asList(new String("fragile"), new String("express")));
+        json.put("note", new String("leave at the door"));
+        json.put("address", address);
+        return json;
+    }
+
+}
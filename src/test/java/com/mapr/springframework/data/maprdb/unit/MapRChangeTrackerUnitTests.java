@@ -0,0 +1,83 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRChangeTracker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class MapRChangeTrackerUnitTests {
+
+    public final static String TABLE_NAME = "/user";
+
+    public MapRChangeTracker tracker = new MapRChangeTracker();
+
+    @Test
+    public void changedFieldsTest() {
+        Map<String, Object> snapshot = getDocument("123", "test", 25);
+        Map<String, Object> document = getDocument("123", "test", 26);
+        document.put("enabled", true);
+        snapshot.put("removed", "value");
+
+        Set<String> fields = tracker.getChangedFields(snapshot, document);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("age", "enabled", "removed")), fields);
+    }
+
+    @Test
+    public void unchangedFieldsTest() {
+        Set<String> fields = tracker.getChangedFields(getDocument("123", "test", 25), getDocument("123", "test", 25));
+
+        Assert.assertTrue(fields.isEmpty());
+    }
+
+    @Test
+    public void mergeAddsMissingFieldsTest() {
+        tracker.track(TABLE_NAME, "123", getDocument("123", "test", 25));
+
+        Map<String, Object> loaded = new HashMap<>();
+        loaded.put("_id", "123");
+        loaded.put("age", 30);
+        loaded.put("bio", "text");
+        tracker.merge(TABLE_NAME, "123", loaded);
+        tracker.merge(TABLE_NAME, "456", loaded);
+
+        Map<String, Object> snapshot = tracker.getSnapshot(TABLE_NAME, "123");
+        Assert.assertEquals(25, snapshot.get("age"));
+        Assert.assertEquals("text", snapshot.get("bio"));
+        Assert.assertNull(tracker.getSnapshot(TABLE_NAME, "456"));
+    }
+
+    @Test
+    public void trackAndUntrackTest() {
+        Map<String, Object> snapshot = getDocument("123", "test", 25);
+
+        tracker.track(TABLE_NAME, "123", snapshot);
+        Assert.assertEquals(snapshot, tracker.getSnapshot(TABLE_NAME, "123"));
+        Assert.assertNull(tracker.getSnapshot("/user2", "123"));
+
+        tracker.untrack(TABLE_NAME, "123");
+        Assert.assertNull(tracker.getSnapshot(TABLE_NAME, "123"));
+    }
+
+    @Test
+    public void clearTest() {
+        tracker.track(TABLE_NAME, "123", getDocument("123", "test", 25));
+        tracker.clear(TABLE_NAME);
+
+        Assert.assertNull(tracker.getSnapshot(TABLE_NAME, "123"));
+    }
+
+    public Map<String, Object> getDocument(String id, String name, int age) {
+        Map<String, Object> document = new HashMap<>();
+        document.put("_id", id);
+        document.put("name", name);
+        document.put("age", age);
+        return document;
+    }
+
+}
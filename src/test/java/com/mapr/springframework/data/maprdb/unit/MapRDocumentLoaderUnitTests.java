@@ -0,0 +1,189 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRDocumentLoader;
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.model.Product;
+import com.mapr.springframework.data.maprdb.model.User;
+import org.junit.Assert;
+import org.junit.Test;
+import org.ojai.store.DocumentStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class MapRDocumentLoaderUnitTests {
+
+    public final static int THREADS = 8;
+
+    public AtomicInteger batches = new AtomicInteger();
+    public List<Collection<String>> requestedIds = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void loadersAreKeyedByProjectionTest() throws Exception {
+        DocumentStore store = mock(DocumentStore.class);
+        MapRTemplate template = OjaiMocks.getTemplate(OjaiMocks.getConnection(store));
+        template.setFindByIdBatchSize(1);
+        when(store.findById("p")).thenReturn(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "p", "name", "user")));
+        when(store.findById(eq("p"), (String) any()))
+                .thenReturn(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "p", "name", "product")));
+
+        Assert.assertEquals("product", template.findById("p", Product.class, "/shared").get().getName());
+        Assert.assertEquals("user", template.findById("p", User.class, "/shared").get().getName());
+
+        verify(store).findById(eq("p"), (String) any());
+        verify(store).findById("p");
+    }
+
+    @Test
+    public void coalescingTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MapRDocumentLoader loader = new MapRDocumentLoader(ids -> {
+            started.countDown();
+            await(release);
+            return load(ids);
+        }, 64, 0, TimeUnit.MILLISECONDS);
+
+        List<FutureTask<Map<String, Object>>> tasks = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < THREADS; i++) {
+            FutureTask<Map<String, Object>> task = new FutureTask<>(() -> loader.load("1"));
+            Thread thread = new Thread(task);
+            tasks.add(task);
+            threads.add(thread);
+            thread.start();
+
+            if(i == 0)
+                Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        }
+
+        awaitWaiting(threads.subList(1, THREADS));
+        release.countDown();
+
+        for(FutureTask<Map<String, Object>> task : tasks)
+            Assert.assertEquals("1", task.get(10, TimeUnit.SECONDS).get("_id"));
+        Assert.assertEquals(1, batches.get());
+        Assert.assertEquals(1, requestedIds.get(0).size());
+    }
+
+    @Test
+    public void invalidatedLoadIsNotJoinedTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MapRDocumentLoader loader = new MapRDocumentLoader(ids -> {
+            int batch = batches.incrementAndGet();
+            if(batch == 1) {
+                started.countDown();
+                await(release);
+            }
+            return Collections.singletonMap("1", Collections.singletonMap("batch", batch));
+        }, 64, 0, TimeUnit.MILLISECONDS);
+
+        FutureTask<Map<String, Object>> stale = new FutureTask<>(() -> loader.load("1"));
+        new Thread(stale).start();
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        loader.invalidate("1");
+        Assert.assertEquals(2, loader.load("1").get("batch"));
+
+        release.countDown();
+        Assert.assertEquals(1, stale.get(10, TimeUnit.SECONDS).get("batch"));
+        Assert.assertEquals(3, loader.load("1").get("batch"));
+    }
+
+    @Test
+    public void batchingTest() throws Exception {
+        MapRDocumentLoader loader = new MapRDocumentLoader(this::load, THREADS, 10, TimeUnit.SECONDS);
+
+        List<Map<String, Object>> results = loadConcurrently(loader, String::valueOf);
+
+        for(int i = 0; i < THREADS; i++)
+            Assert.assertEquals(String.valueOf(i), results.get(i).get("_id"));
+        Assert.assertEquals(1, batches.get());
+        Assert.assertEquals(THREADS, requestedIds.get(0).size());
+    }
+
+    @Test
+    public void missingDocumentTest() {
+        MapRDocumentLoader loader = new MapRDocumentLoader(this::load, 64, 1, TimeUnit.MILLISECONDS);
+
+        Assert.assertNull(loader.load("missing"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failedBatchTest() {
+        MapRDocumentLoader loader = new MapRDocumentLoader(ids -> {
+            throw new IllegalStateException();
+        }, 64, 1, TimeUnit.MILLISECONDS);
+
+        loader.load("1");
+    }
+
+    @Test(expected = OutOfMemoryError.class, timeout = 10000)
+    public void failedBatchWithErrorTest() {
+        MapRDocumentLoader loader = new MapRDocumentLoader(ids -> {
+            throw new OutOfMemoryError();
+        }, 64, 1, TimeUnit.MILLISECONDS);
+
+        loader.load("1");
+    }
+
+    public void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while(threads.stream().anyMatch(t -> t.getState() != Thread.State.WAITING) && System.nanoTime() < deadline)
+            Thread.sleep(1);
+    }
+
+    public List<Map<String, Object>> loadConcurrently(MapRDocumentLoader loader,
+                                                     IntFunction<String> id) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Map<String, Object>>> futures = new ArrayList<>();
+
+        for(int i = 0; i < THREADS; i++) {
+            String documentId = id.apply(i);
+            futures.add(executor.submit(() -> loader.load(documentId)));
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for(Future<Map<String, Object>> future : futures)
+            results.add(future.get(10, TimeUnit.SECONDS));
+
+        executor.shutdown();
+        return results;
+    }
+
+    public Map<String, Map<String, Object>> load(Collection<String> ids) {
+        batches.incrementAndGet();
+        requestedIds.add(new ArrayList<>(ids));
+
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        ids.stream().filter(id -> !id.equals("missing"))
+                .forEach(id -> documents.put(id, Collections.singletonMap("_id", id)));
+        return documents;
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRLazyFieldLoader;
+import com.mapr.springframework.data.maprdb.core.mapping.MapREntityMetadata;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.model.Product;
+import com.mapr.springframework.data.maprdb.model.Profile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+public class MapRLazyFieldLoaderUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+    public List<Collection<String>> loads;
+    public MapRLazyFieldLoader loader;
+
+    @Before
+    public void init() {
+        loads = new ArrayList<>();
+        loader = new MapRLazyFieldLoader(this::load, (d, c) -> converter.toObject(d, c));
+    }
+
+    @Test
+    public void projectionExcludesLazyFieldsTest() {
+        MapREntityMetadata metadata = MapREntityMetadata.get(Product.class);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("_id", "name")),
+                new HashSet<>(Arrays.asList(metadata.getProjection())));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("_id", "description", "images")),
+                new HashSet<>(Arrays.asList(metadata.getLazyProjection())));
+    }
+
+    @Test
+    public void projectionUsesJacksonNamesTest() {
+        MapREntityMetadata metadata = MapREntityMetadata.get(Profile.class);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("_id", "n", "addresses", "d")),
+                new HashSet<>(Arrays.asList(metadata.getProjection())));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("_id", "b")),
+                new HashSet<>(Arrays.asList(metadata.getLazyProjection())));
+    }
+
+    @Test
+    public void renamedLazyFieldsAreLoadedTest() {
+        Profile profile = new Profile();
+        profile.setId("p0");
+        profile.setName("name");
+
+        Profile proxy = loader.wrap(Collections.singletonList(profile), Profile.class, "/profile").get(0);
+
+        Assert.assertEquals("biography p0", proxy.getBiography());
+        Assert.assertEquals(Collections.singletonList(Arrays.asList("p0")), loads);
+    }
+
+    @Test
+    public void lazyFieldsAreLoadedInOneBatchTest() {
+        List<Product> products = loader.wrap(getProducts(3), Product.class, "/product");
+
+        Assert.assertEquals("product 0", products.get(0).getName());
+        Assert.assertTrue(loads.isEmpty());
+
+        Assert.assertEquals("description p1", products.get(1).getDescription());
+        Assert.assertEquals(Collections.singletonList("p2.png"), products.get(2).getImages());
+
+        Assert.assertEquals(1, loads.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("p0", "p1", "p2")), new HashSet<>(loads.get(0)));
+    }
+
+    @Test
+    public void assignedFieldsAreNotOverwrittenTest() {
+        Product product = loader.wrap(getProducts(1), Product.class, "/product").get(0);
+
+        product.setDescription("changed");
+
+        Assert.assertEquals(Collections.singletonList("p0.png"), product.getImages());
+        Assert.assertEquals("changed", product.getDescription());
+    }
+
+    @Test
+    public void loadedEntitiesAreNotWrappedTest() {
+        List<Product> products = getProducts(2);
+        products.get(0).setDescription("stored");
+
+        List<Product> wrapped = loader.wrap(products, Product.class, "/product");
+
+        Assert.assertSame(products.get(0), wrapped.get(0));
+        Assert.assertEquals("stored", wrapped.get(0).getDescription());
+        Assert.assertNotSame(products.get(1), wrapped.get(1));
+        Assert.assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    public void lazyFieldsAreLoadedBeforeSerializationTest() {
+        Product product = loader.wrap(getProducts(1), Product.class, "/product").get(0);
+
+        Map json = converter.toJson(product);
+
+        Assert.assertEquals("description p0", json.get("description"));
+        Assert.assertEquals(4, json.size());
+    }
+
+    public List<Product> getProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for(int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setId("p" + i);
+            product.setName("product " + i);
+            products.add(product);
+        }
+        return products;
+    }
+
+    public Map<String, Map<String, Object>> load(String tableName, Collection<String> ids, String[] fields) {
+        loads.add(new ArrayList<>(ids));
+
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        for(String id : ids) {
+            Map<String, Object> document = new HashMap<>();
+            document.put("_id", id);
+            if(tableName.equals("/profile")) {
+                Assert.assertArrayEquals(new String[]{"_id", "b"}, fields);
+                document.put("b", "biography " + id);
+            } else {
+                Assert.assertEquals("/product", tableName);
+                document.put("description", "description " + id);
+                document.put("images", Collections.singletonList(id + ".png"));
+            }
+            documents.put(id, document);
+        }
+        return documents;
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRMetrics;
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.MicrometerMapRMetrics;
+import com.mapr.springframework.data.maprdb.core.aggregation.Aggregation;
+import com.mapr.springframework.data.maprdb.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.ojai.store.Connection;
+import org.ojai.store.DocumentStore;
+
+import java.lang.reflect.Constructor;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class MapRMetricsUnitTests {
+
+    public MeterRegistry registry;
+    public DocumentStore store;
+    public MapRTemplate template;
+
+    @Before
+    public void init() throws Exception {
+        registry = new SimpleMeterRegistry();
+        store = mock(DocumentStore.class);
+
+        Connection connection = mock(Connection.class);
+        when(connection.getStore(ArgumentMatchers.anyString())).thenReturn(store);
+
+        Constructor<MapRTemplate> c = MapRTemplate.class.getDeclaredConstructor(String.class,
+                org.ojai.store.Connection.class, java.sql.Connection.class);
+        c.setAccessible(true);
+        template = c.newInstance("test", connection, null);
+    }
+
+    @Test
+    public void metricsAreDisabledByDefaultTest() {
+        Assert.assertSame(MapRMetrics.NOOP, template.getMetrics());
+        Assert.assertFalse(template.getMetrics().isEnabled());
+        Assert.assertSame(store, template.getStore(User.class));
+    }
+
+    @Test
+    public void storeCallsAreTimedTest() {
+        template.setMetrics(new MicrometerMapRMetrics(registry));
+
+        DocumentStore instrumented = template.getStore(User.class);
+        instrumented.flush();
+        instrumented.flush();
+        instrumented.close();
+
+        verify(store, times(2)).flush();
+        verify(store).close();
+        Assert.assertEquals(1, getTimer("open").count());
+        Assert.assertEquals(2, getTimer("flush").count());
+        Assert.assertEquals(1, getTimer("close").count());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void storeExceptionsAreRethrownTest() {
+        template.setMetrics(new MicrometerMapRMetrics(registry));
+        doThrow(new IllegalStateException()).when(store).flush();
+
+        try {
+            template.getStore(User.class).flush();
+        } finally {
+            Assert.assertEquals(1, getTimer("flush").count());
+        }
+    }
+
+    @Test
+    public void metersAreTaggedAndReusedTest() {
+        MicrometerMapRMetrics metrics = new MicrometerMapRMetrics(registry);
+
+        metrics.recordTime("find", "/user", TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordTime("find", "/user", TimeUnit.MILLISECONDS.toNanos(15));
+        metrics.recordSize("batch", "/user", 100);
+        metrics.recordQuery("UserRepository", "findByName", TimeUnit.MILLISECONDS.toNanos(1));
+
+        Timer timer = registry.get("maprdb.operation").tag("operation", "find").tag("table", "/user").timer();
+        Assert.assertEquals(2, timer.count());
+        Assert.assertEquals(20, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        Assert.assertEquals(100, registry.get("maprdb.batch").tag("table", "/user").summary().totalAmount(), 0);
+        Assert.assertEquals(1, registry.get("maprdb.repository").tag("repository", "UserRepository")
+                .tag("method", "findByName").timer().count());
+    }
+
+    @Test
+    public void aggregationsAreTimedUntilClosedTest() throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getObject(1)).thenReturn(3L);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        java.sql.Connection drillConnection = mock(java.sql.Connection.class);
+        when(drillConnection.prepareStatement(ArgumentMatchers.anyString())).thenReturn(statement);
+
+        Constructor<MapRTemplate> c = MapRTemplate.class.getDeclaredConstructor(String.class,
+                org.ojai.store.Connection.class, java.sql.Connection.class);
+        c.setAccessible(true);
+        MapRTemplate template = c.newInstance("test", mock(Connection.class), drillConnection);
+        template.setMetrics(new MicrometerMapRMetrics(registry));
+
+        try (Stream<Long> counts = template.aggregate(User.class, Aggregation.newAggregation().count("users"),
+                Long.class)) {
+            Assert.assertNull(registry.find("maprdb.operation").tag("operation", "drill.aggregate").timer());
+            Thread.sleep(20);
+            Assert.assertEquals(Long.valueOf(3), counts.findFirst().get());
+        }
+
+        Assert.assertEquals(1, getTimer("drill.aggregate").count());
+        Assert.assertTrue(getTimer("drill.aggregate").totalTime(TimeUnit.MILLISECONDS) >= 20);
+    }
+
+    public Timer getTimer(String operation) {
+        return registry.get("maprdb.operation").tag("operation", operation).tag("table", "/user").timer();
+    }
+
+}
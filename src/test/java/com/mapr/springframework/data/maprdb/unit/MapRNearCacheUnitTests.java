@@ -0,0 +1,119 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRNearCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class MapRNearCacheUnitTests {
+
+    public Map<String, Object> document = Collections.singletonMap("_id", "1");
+
+    @Test
+    public void hitAndMissTest() {
+        MapRNearCache cache = new MapRNearCache(10, 0, true);
+
+        Assert.assertNull(cache.get("1"));
+        cache.put("1", document);
+        Assert.assertEquals(document, cache.get("1").getDocument());
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void staleFetchIsNotCachedTest() {
+        MapRNearCache cache = new MapRNearCache(10, 0, true);
+
+        long generation = cache.getGeneration("1");
+        cache.invalidate("1");
+        cache.put("1", document, generation);
+        Assert.assertNull(cache.get("1"));
+
+        cache.put("1", document, cache.getGeneration("1"));
+        Assert.assertNotNull(cache.get("1"));
+    }
+
+    @Test
+    public void unrelatedWriteKeepsFetchTest() {
+        MapRNearCache cache = new MapRNearCache(10, 0, true);
+
+        long generation = cache.getGeneration("1");
+        cache.invalidate("2");
+        cache.put("1", document, generation);
+        Assert.assertNotNull(cache.get("1"));
+
+        generation = cache.getGeneration("1");
+        cache.clear();
+        cache.put("1", document, generation);
+        Assert.assertNull(cache.get("1"));
+    }
+
+    @Test
+    public void segmentedCacheIsBoundedTest() {
+        MapRNearCache cache = new MapRNearCache(1024, 0, true);
+        for(int i = 0; i < 10000; i++)
+            cache.put(String.valueOf(i), document);
+
+        Assert.assertTrue(cache.size() <= 1024);
+        Assert.assertEquals(10000 - cache.size(), cache.getEvictionCount());
+        Assert.assertNotNull(cache.get("9999"));
+    }
+
+    @Test
+    public void negativeCachingTest() {
+        MapRNearCache cache = new MapRNearCache(10, 0, true);
+        cache.put("1", null);
+
+        Assert.assertNotNull(cache.get("1"));
+        Assert.assertNull(cache.get("1").getDocument());
+
+        cache = new MapRNearCache(10, 0, false);
+        cache.put("1", null);
+
+        Assert.assertNull(cache.get("1"));
+    }
+
+    @Test
+    public void evictionTest() {
+        MapRNearCache cache = new MapRNearCache(2, 0, true);
+        cache.put("1", document);
+        cache.put("2", document);
+        cache.get("1");
+        cache.put("3", document);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertNotNull(cache.get("1"));
+        Assert.assertNull(cache.get("2"));
+    }
+
+    @Test
+    public void expirationTest() throws InterruptedException {
+        MapRNearCache cache = new MapRNearCache(10, TimeUnit.MILLISECONDS.toNanos(1), true);
+        cache.put("1", document);
+
+        Thread.sleep(5);
+
+        Assert.assertNull(cache.get("1"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidateTest() {
+        MapRNearCache cache = new MapRNearCache(10, 0, true);
+        cache.put("1", document);
+        cache.put("2", document);
+
+        cache.invalidate("1");
+        Assert.assertNull(cache.get("1"));
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRQueryCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MapRQueryCacheUnitTests {
+
+    public List<Map<String, Object>> documents = Collections.singletonList(Collections.singletonMap("_id", "1"));
+
+    @Test
+    public void hitAndMissTest() {
+        MapRQueryCache cache = new MapRQueryCache(0, 1024 * 1024, false);
+
+        Assert.assertNull(cache.get("key"));
+        cache.put("key", documents, cache.getGeneration());
+        Assert.assertEquals(documents, cache.get("key").getDocuments());
+
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void invalidationTest() {
+        MapRQueryCache cache = new MapRQueryCache(0, 1024 * 1024, false);
+        cache.put("key", documents, cache.getGeneration());
+
+        cache.invalidate();
+
+        Assert.assertNull(cache.get("key"));
+        Assert.assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void staleResultIsNotCachedTest() {
+        MapRQueryCache cache = new MapRQueryCache(0, 1024 * 1024, false);
+
+        long generation = cache.getGeneration();
+        cache.invalidate();
+        MapRQueryCache.Entry entry = cache.put("key", documents, generation);
+
+        Assert.assertEquals(documents, entry.getDocuments());
+        Assert.assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void maxBytesTest() {
+        MapRQueryCache cache = new MapRQueryCache(0, 1024, false);
+
+        for(int i = 0; i < 100; i++)
+            cache.put(i, documents, cache.getGeneration());
+
+        Assert.assertTrue(cache.getBytes() <= 1024);
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+        Assert.assertNotNull(cache.get(99));
+
+        List<Map<String, Object>> large = new ArrayList<>();
+        for(int i = 0; i < 100; i++)
+            large.add(Collections.singletonMap("_id", String.valueOf(i)));
+        cache.put("large", large, cache.getGeneration());
+
+        Assert.assertNull(cache.get("large"));
+    }
+
+    @Test
+    public void expirationTest() throws InterruptedException {
+        MapRQueryCache cache = new MapRQueryCache(TimeUnit.MILLISECONDS.toNanos(1), 1024 * 1024, false);
+        cache.put("key", documents, cache.getGeneration());
+
+        Thread.sleep(5);
+
+        Assert.assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void decodedObjectsAreReusedTest() {
+        MapRQueryCache cache = new MapRQueryCache(0, 1024 * 1024, true);
+        cache.put("key", documents, cache.getGeneration());
+
+        AtomicInteger decodings = new AtomicInteger();
+        cache.get("key").getObjects(d -> Collections.singletonList(decodings.incrementAndGet()));
+        List<?> objects = cache.get("key").getObjects(d -> Collections.singletonList(decodings.incrementAndGet()));
+
+        Assert.assertEquals(Collections.singletonList(1), objects);
+        Assert.assertEquals(1, decodings.get());
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRQueryLog;
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.QueryEvent;
+import com.mapr.springframework.data.maprdb.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.ojai.Document;
+import org.ojai.DocumentStream;
+import org.ojai.store.Connection;
+import org.ojai.store.DocumentStore;
+import org.ojai.store.Query;
+import org.ojai.store.QueryResult;
+
+import java.lang.reflect.Constructor;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MapRQueryLogUnitTests {
+
+    public List<QueryEvent> events;
+    public DocumentStore store;
+    public MapRTemplate template;
+
+    @Before
+    public void init() throws Exception {
+        events = new ArrayList<>();
+        store = mock(DocumentStore.class);
+
+        Connection connection = mock(Connection.class);
+        when(connection.getStore(ArgumentMatchers.anyString())).thenReturn(store);
+
+        Constructor<MapRTemplate> c = MapRTemplate.class.getDeclaredConstructor(String.class,
+                org.ojai.store.Connection.class, java.sql.Connection.class);
+        c.setAccessible(true);
+        template = c.newInstance("test", connection, null);
+    }
+
+    @Test
+    public void fastQueriesAreNotLoggedTest() {
+        MapRQueryLog queryLog = new MapRQueryLog(100, TimeUnit.MILLISECONDS).addListener(events::add);
+
+        queryLog.log("execute", "/user", () -> "{}", 1, TimeUnit.MILLISECONDS.toNanos(99), 0, 0, null);
+        Assert.assertTrue(events.isEmpty());
+
+        queryLog.log("execute", "/user", () -> "{}", 1, TimeUnit.MILLISECONDS.toNanos(100),
+                TimeUnit.MILLISECONDS.toNanos(70), TimeUnit.MILLISECONDS.toNanos(30), () -> "{\"plan\":1}");
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(70), events.get(0).getFetchNanos());
+        Assert.assertEquals("{\"plan\":1}", events.get(0).getPlan());
+        Assert.assertNull(events.get(0).getMethod());
+    }
+
+    @Test
+    public void fastQueriesAreSampledTest() {
+        MapRQueryLog queryLog = new MapRQueryLog(1, TimeUnit.SECONDS).sampling(1).addListener(events::add);
+
+        queryLog.log("execute", "/user", () -> "{}", 1, 0, 0, 0, null);
+
+        Assert.assertEquals(1, events.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSamplingRateTest() {
+        new MapRQueryLog(1, TimeUnit.SECONDS).sampling(2);
+    }
+
+    @Test
+    public void parametersAreRedactedTest() {
+        MapRQueryLog queryLog = new MapRQueryLog(0, TimeUnit.MILLISECONDS)
+                .redact(MapRQueryLog.redacting("email"))
+                .addListener(events::add);
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("email", "john@example.com");
+        parameters.put("age", 30);
+
+        queryLog.withContext("UserRepository.findByEmailAndAge", parameters, () -> {
+            queryLog.log("execute", "/user", () -> "{\"$and\":[{\"$eq\":{\"email\":\"john@example.com\"}}," +
+                    "{\"$eq\":{\"age\":30}}]}", 1, 0, 0, 0, null);
+            return null;
+        });
+
+        QueryEvent event = events.get(0);
+        Assert.assertEquals("UserRepository.findByEmailAndAge", event.getMethod());
+        Assert.assertEquals(MapRQueryLog.REDACTED, event.getParameters().get("email"));
+        Assert.assertEquals(30, event.getParameters().get("age"));
+        Assert.assertEquals(MapRQueryLog.REDACTED, event.getQuery());
+    }
+
+    @Test
+    public void failingListenersAreIgnoredTest() {
+        MapRQueryLog queryLog = new MapRQueryLog(0, TimeUnit.MILLISECONDS)
+                .addListener(e -> { throw new IllegalStateException(); })
+                .addListener(events::add);
+
+        queryLog.log("execute", "/user", () -> "{}", 1, 0, 0, 0, null);
+
+        Assert.assertEquals(1, events.size());
+    }
+
+    @Test
+    public void templateQueriesAreLoggedTest() {
+        template.setQueryLog(new MapRQueryLog(0, TimeUnit.MILLISECONDS).addListener(events::add));
+        Query query = mock(Query.class);
+        DocumentStream documents = getStream(getDocument("1"), getDocument("2"));
+        when(store.find(query)).thenReturn(documents);
+
+        List<User> users = template.execute(query, User.class);
+
+        Assert.assertEquals(2, users.size());
+        QueryEvent event = events.get(0);
+        Assert.assertEquals("execute", event.getOperation());
+        Assert.assertEquals("/user", event.getTable());
+        Assert.assertEquals(query.toString(), event.getQuery());
+        Assert.assertEquals(2, event.getDocuments());
+        Assert.assertTrue(event.getDecodeNanos() > 0);
+        Assert.assertTrue(event.getFetchNanos() > 0);
+        Assert.assertNull(event.getPlan());
+    }
+
+    @Test
+    public void pipelinedQueriesAreLoggedTest() {
+        template.setDecodingPipeline(4, 2);
+        template.setQueryLog(new MapRQueryLog(0, TimeUnit.MILLISECONDS).addListener(events::add));
+        Query query = mock(Query.class);
+        DocumentStream documents = getStream(getDocument("1"), getDocument("2"));
+        when(store.find(query)).thenReturn(documents);
+
+        List<User> users;
+        try {
+            users = template.execute(query, User.class);
+        } finally {
+            template.destroy();
+        }
+
+        Assert.assertEquals(2, users.size());
+        QueryEvent event = events.get(0);
+        Assert.assertTrue(event.getFetchNanos() > 0);
+        Assert.assertTrue(event.getDecodeNanos() > 0);
+        Assert.assertTrue(event.getFetchNanos() <= event.getTotalNanos());
+    }
+
+    @Test
+    public void queryPlanIsCapturedTest() {
+        template.setQueryLog(new MapRQueryLog(0, TimeUnit.MILLISECONDS).explain(true).addListener(events::add));
+        Query query = mock(Query.class);
+        Document plan = mock(Document.class);
+        when(plan.asJsonString()).thenReturn("{\"scan\":\"user\"}");
+        QueryResult result = getResult(plan, getDocument("1"));
+        when(store.findQuery(query)).thenReturn(result);
+
+        template.execute(query, User.class);
+
+        Assert.assertEquals("{\"scan\":\"user\"}", events.get(0).getPlan());
+    }
+
+    public Document getDocument(String id) {
+        Map<String, Object> json = new HashMap<>();
+        json.put("_id", id);
+        json.put("name", "user" + id);
+
+        Document document = mock(Document.class);
+        when(document.asMap()).thenReturn(json);
+        return document;
+    }
+
+    public DocumentStream getStream(Document... documents) {
+        return OjaiMocks.getStream(documents);
+    }
+
+    public QueryResult getResult(Document plan, Document... documents) {
+        return OjaiMocks.getStream(plan, Arrays.asList(documents));
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRReferenceResolver;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.model.Order;
+import com.mapr.springframework.data.maprdb.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+public class MapRReferenceResolverUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+    public List<Collection<String>> loads;
+    public MapRReferenceResolver resolver;
+
+    @Before
+    public void init() {
+        loads = new ArrayList<>();
+        resolver = new MapRReferenceResolver(c -> "/" + c.getSimpleName().toLowerCase(), this::load,
+                (d, c) -> converter.toObject(d, c));
+    }
+
+    @Test
+    public void referencesAreStoredAsIdsTest() {
+        Order order = getOrders().get(0);
+
+        Map json = converter.toJson(order);
+
+        Assert.assertEquals("u0", json.get("customer"));
+        Assert.assertEquals(Arrays.asList("u1", "u2"), json.get("recipients"));
+        Assert.assertEquals("u3", json.get("approver"));
+    }
+
+    @Test
+    public void eagerReferencesAreLoadedInOneBatchTest() {
+        List<Order> orders = resolver.resolve(getOrders(), Order.class);
+
+        Assert.assertEquals(1, loads.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("u0", "u1", "u2", "u4", "u5", "u6")), new HashSet<>(loads.get(0)));
+
+        Assert.assertEquals("user u0", orders.get(0).getCustomer().getName());
+        Assert.assertEquals("user u6", orders.get(1).getRecipients().get(1).getName());
+    }
+
+    @Test
+    public void lazyReferencesAreLoadedOnFirstAccessTest() {
+        List<Order> orders = resolver.resolve(getOrders(), Order.class);
+        loads.clear();
+
+        Assert.assertEquals("user u3", orders.get(0).getApprover().getName());
+        Assert.assertEquals("user u7", orders.get(1).getApprover().getName());
+
+        Assert.assertEquals(1, loads.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("u3", "u7")), new HashSet<>(loads.get(0)));
+    }
+
+    @Test
+    public void missingReferencesKeepTheirIdsTest() {
+        Order order = new Order();
+        order.setCustomer(user("missing"));
+        order.setRecipients(Arrays.asList(user("u1"), user("missing")));
+
+        resolver.resolve(Collections.singletonList(order), Order.class);
+
+        Assert.assertEquals("missing", order.getCustomer().getId());
+        Assert.assertNull(order.getCustomer().getName());
+        Assert.assertEquals(2, order.getRecipients().size());
+        Assert.assertEquals("user u1", order.getRecipients().get(0).getName());
+        Assert.assertEquals("missing", order.getRecipients().get(1).getId());
+
+        Map json = converter.toJson(order);
+        Assert.assertEquals("missing", json.get("customer"));
+        Assert.assertEquals(Arrays.asList("u1", "missing"), json.get("recipients"));
+    }
+
+    public List<Order> getOrders() {
+        List<Order> orders = new ArrayList<>();
+        for(int i = 0; i < 2; i++) {
+            Order order = converter.toObject(converter.toJson(newOrder(i * 4)), Order.class);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    public Order newOrder(int firstUser) {
+        Order order = new Order();
+        order.setId("o" + firstUser);
+        order.setCustomer(user("u" + firstUser));
+        order.setRecipients(Arrays.asList(user("u" + (firstUser + 1)), user("u" + (firstUser + 2))));
+        order.setApprover(user("u" + (firstUser + 3)));
+        return order;
+    }
+
+    public User user(String id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    public Map<String, Map<String, Object>> load(String tableName, Collection<String> ids) {
+        Assert.assertEquals("/user", tableName);
+        loads.add(new ArrayList<>(ids));
+
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        for(String id : ids)
+            if(!id.equals("missing")) {
+                Map<String, Object> document = new HashMap<>();
+                document.put("_id", id);
+                document.put("name", "user " + id);
+                documents.put(id, document);
+            }
+        return documents;
+    }
+
+}
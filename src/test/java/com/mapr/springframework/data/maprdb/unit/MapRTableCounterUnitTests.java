@@ -0,0 +1,123 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRTableCounter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MapRTableCounterUnitTests {
+
+    @Test
+    public void seedAndAdjustTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+
+        counter.seed(() -> 100);
+        counter.seed(() -> 500);
+        counter.add(3);
+        counter.add(-1);
+
+        Assert.assertEquals(102, counter.get());
+        Assert.assertTrue(counter.needsReconciliation(TimeUnit.MINUTES.toNanos(5), 0));
+    }
+
+    @Test
+    public void reconciliationTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+        counter.seed(() -> 100);
+        counter.add(5);
+
+        Assert.assertTrue(counter.reconcile(() -> {
+            counter.add(2);
+            return 110;
+        }));
+
+        Assert.assertEquals(112, counter.get());
+        Assert.assertFalse(counter.needsReconciliation(TimeUnit.MINUTES.toNanos(5), 0));
+    }
+
+    @Test
+    public void concurrentReconciliationIsSkippedTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+
+        counter.reconcile(() -> {
+            Assert.assertTrue(counter.isReconciling());
+            Assert.assertFalse(counter.reconcile(() -> 1));
+            return 10;
+        });
+
+        Assert.assertEquals(10, counter.get());
+    }
+
+    @Test
+    public void dirtyCounterNeedsReconciliationTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+        counter.reconcile(() -> 10);
+        counter.markDirty();
+
+        Assert.assertTrue(counter.needsReconciliation(TimeUnit.MINUTES.toNanos(5), 0));
+
+        counter.reconcile(() -> 11);
+        Assert.assertFalse(counter.isDirty());
+        Assert.assertFalse(counter.needsReconciliation(TimeUnit.MINUTES.toNanos(5), 0));
+    }
+
+    @Test
+    public void dirtyReconciliationKeepsMinimumGapTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+        long interval = TimeUnit.MINUTES.toNanos(5);
+        long gap = TimeUnit.SECONDS.toNanos(30);
+
+        Assert.assertTrue(counter.scheduleReconciliation(interval, gap));
+        counter.reconcile(() -> 10);
+
+        int scheduled = 0;
+        for(int i = 0; i < 100; i++) {
+            counter.markDirty();
+            if(counter.scheduleReconciliation(interval, gap))
+                scheduled++;
+        }
+
+        Assert.assertEquals(0, scheduled);
+        Assert.assertTrue(counter.scheduleReconciliation(interval, 0));
+    }
+
+    @Test
+    public void failedReconciliationKeepsCounterDirtyTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+        counter.markDirty();
+
+        try {
+            counter.reconcile(() -> {
+                throw new IllegalStateException();
+            });
+            Assert.fail();
+        } catch (IllegalStateException ex) {
+            Assert.assertTrue(counter.isDirty());
+        }
+    }
+
+    @Test
+    public void resetDiscardsInFlightReconciliationTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+        counter.seed(() -> 100);
+
+        Assert.assertFalse(counter.reconcile(() -> {
+            counter.reset();
+            counter.add(1);
+            return 100;
+        }));
+
+        Assert.assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void countIsNeverNegativeTest() {
+        MapRTableCounter counter = new MapRTableCounter();
+        counter.seed(() -> 1);
+        counter.add(-3);
+
+        Assert.assertEquals(0, counter.get());
+    }
+
+}
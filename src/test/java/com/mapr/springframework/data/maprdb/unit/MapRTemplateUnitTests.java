@@ -1,21 +1,30 @@
 package com.mapr.springframework.data.maprdb.unit;
 
 import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.model.Order;
 import com.mapr.springframework.data.maprdb.model.User;
 import com.mapr.springframework.data.maprdb.model.UserWithCustomTable;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
+import org.ojai.Document;
+import org.ojai.DocumentStream;
 import org.ojai.store.Connection;
 import org.ojai.store.DocumentStore;
+import org.ojai.store.Query;
+import org.ojai.store.QueryResult;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 public class MapRTemplateUnitTests {
     public final static String DB_NAME = "test";
@@ -75,6 +84,58 @@ public class MapRTemplateUnitTests {
         Assert.assertNotNull(store);
     }
 
+    @Test
+    public void exhaustedStreamIsReleasedTest() throws Exception {
+        DocumentStore store = mock(DocumentStore.class);
+        QueryResult documentStream = OjaiMocks.getStream(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "1")),
+                OjaiMocks.getDocument(OjaiMocks.getJson("_id", "2")));
+        when(store.find(any(Query.class))).thenReturn(documentStream);
+        MapRTemplate template = OjaiMocks.getTemplate(OjaiMocks.getConnection(store));
+
+        Stream<User> users = template.stream(mock(Query.class), User.class);
+        Assert.assertEquals(2, users.count());
+        verify(documentStream).close();
+        verify(store).close();
+
+        users.close();
+        verify(store).close();
+    }
+
+    @Test
+    public void abandonedStreamIsReleasedOnCloseTest() throws Exception {
+        DocumentStore store = mock(DocumentStore.class);
+        OjaiMocks.returnDocuments(store, OjaiMocks.getDocument(OjaiMocks.getJson("_id", "1")),
+                OjaiMocks.getDocument(OjaiMocks.getJson("_id", "2")));
+        MapRTemplate template = OjaiMocks.getTemplate(OjaiMocks.getConnection(store));
+
+        try (Stream<User> users = template.stream(mock(Query.class), User.class)) {
+            Assert.assertEquals("1", users.findFirst().get().getId());
+            verify(store, never()).close();
+        }
+
+        verify(store).close();
+    }
+
+    @Test
+    public void streamedReferencesAreResolvedInChunksTest() throws Exception {
+        DocumentStore store = mock(DocumentStore.class);
+        List<Document> orders = new ArrayList<>();
+        for(int i = 0; i < 250; i++)
+            orders.add(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "o" + i, "customer", "u" + i)));
+        DocumentStream stream = OjaiMocks.getStream(null, orders);
+        when(store.find(any(Query.class))).thenReturn(stream)
+                .thenAnswer(i -> OjaiMocks.getStream());
+        MapRTemplate template = OjaiMocks.getTemplate(OjaiMocks.getConnection(store));
+
+        try (Stream<Order> entities = template.stream(mock(Query.class), Order.class)) {
+            List<Order> result = entities.collect(Collectors.toList());
+            Assert.assertEquals(250, result.size());
+            Assert.assertEquals("u249", result.get(249).getCustomer().getId());
+        }
+
+        verify(store, times(4)).find(any(Query.class));
+    }
+
     public Connection getConnectionMock() {
         Connection connection = mock(Connection.class);
 
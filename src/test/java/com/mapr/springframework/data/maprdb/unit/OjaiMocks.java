@@ -0,0 +1,201 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.mapping.PrimitiveArrays;
+import org.ojai.Document;
+import org.ojai.DocumentReader;
+import org.ojai.DocumentStream;
+import org.ojai.Value;
+import org.ojai.store.*;
+
+import java.lang.reflect.Constructor;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class OjaiMocks {
+
+    public static MapRTemplate getTemplate(Connection connection) throws Exception {
+        Constructor<MapRTemplate> c = MapRTemplate.class.getDeclaredConstructor(String.class,
+                org.ojai.store.Connection.class, java.sql.Connection.class);
+        c.setAccessible(true);
+        return c.newInstance("test", connection, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Connection getConnection(DocumentStore store) {
+        Connection connection = mock(Connection.class);
+        when(connection.getStore(anyString())).thenReturn(store);
+        when(connection.newDocument(anyMap())).thenAnswer(i -> getDocument(i.getArgument(0)));
+        when(connection.newMutation()).thenAnswer(i -> mock(DocumentMutation.class, RETURNS_SELF));
+        when(connection.newCondition()).thenAnswer(i -> mock(QueryCondition.class, RETURNS_SELF));
+        when(connection.newQuery()).thenAnswer(i -> mock(Query.class, RETURNS_SELF));
+        return connection;
+    }
+
+    public static Map<String, Object> getJson(Object... keysAndValues) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for(int i = 0; i < keysAndValues.length; i += 2)
+            json.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        return json;
+    }
+
+    public static Document getDocument(Map<String, Object> json) {
+        Map<String, Object> map = new LinkedHashMap<>(json);
+        return mock(Document.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "asMap":
+                    return map;
+                case "getIdString":
+                    return map.get("_id") != null ? map.get("_id").toString() : null;
+                case "getId":
+                    return map.get("_id") != null ? getValue(map.get("_id")) : null;
+                case "setId":
+                    map.put("_id", args[0] instanceof Value ? ((Value) args[0]).getObject() : args[0]);
+                    return invocation.getMock();
+                case "set":
+                    map.put((String) args[0], args[1] instanceof Value ? ((Value) args[1]).getObject() : args[1]);
+                    return invocation.getMock();
+                case "delete":
+                    map.remove(args[0]);
+                    return invocation.getMock();
+                case "setArray":
+                    map.put((String) args[0], PrimitiveArrays.asList(args[1]));
+                    return invocation.getMock();
+                case "asReader":
+                    return args.length == 1 ? getReader(map.get(args[0])) : null;
+                case "iterator":
+                    return map.entrySet().stream().map(e -> (Map.Entry<String, Value>)
+                            new AbstractMap.SimpleImmutableEntry<>(e.getKey(), getValue(e.getValue()))).iterator();
+                case "getValue":
+                    return map.get(args[0]) != null ? getValue(map.get(args[0])) : null;
+                case "asJsonString":
+                case "toString":
+                    return map.toString();
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    public static Value getValue(Object object) {
+        return mock(Value.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getType":
+                    return getType(object);
+                case "getObject":
+                    return object;
+                case "getBoolean":
+                case "getString":
+                case "getDecimal":
+                case "getBinary":
+                    return object;
+                case "toString":
+                    return String.valueOf(object);
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    public static DocumentReader getReader(Object value) {
+        if(value == null)
+            return null;
+
+        List<Object> tokens = new ArrayList<>();
+        if(value instanceof List) {
+            tokens.add(DocumentReader.EventType.START_ARRAY);
+            tokens.addAll((List<?>) value);
+            tokens.add(DocumentReader.EventType.END_ARRAY);
+        } else
+            tokens.add(value);
+
+        int[] position = { -1 };
+        return mock(DocumentReader.class, invocation -> {
+            if(invocation.getMethod().getName().equals("next")) {
+                Object token = ++position[0] < tokens.size() ? tokens.get(position[0]) : null;
+                return token == null || token instanceof DocumentReader.EventType ? token : getEventType(token);
+            }
+
+            Number number = (Number) tokens.get(position[0]);
+            switch (invocation.getMethod().getName()) {
+                case "getByte":
+                    return number.byteValue();
+                case "getShort":
+                    return number.shortValue();
+                case "getInt":
+                    return number.intValue();
+                case "getLong":
+                    return number.longValue();
+                case "getFloat":
+                    return number.floatValue();
+                case "getDouble":
+                    return number.doubleValue();
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    public static DocumentReader.EventType getEventType(Object object) {
+        Value.Type type = getType(object);
+        if(type == Value.Type.MAP)
+            return DocumentReader.EventType.START_MAP;
+        if(type == Value.Type.ARRAY)
+            return DocumentReader.EventType.START_ARRAY;
+        return DocumentReader.EventType.valueOf(type.name());
+    }
+
+    public static Value.Type getType(Object object) {
+        if(object == null)
+            return Value.Type.NULL;
+        if(object instanceof Boolean)
+            return Value.Type.BOOLEAN;
+        if(object instanceof String)
+            return Value.Type.STRING;
+        if(object instanceof Byte)
+            return Value.Type.BYTE;
+        if(object instanceof Short)
+            return Value.Type.SHORT;
+        if(object instanceof Integer)
+            return Value.Type.INT;
+        if(object instanceof Long)
+            return Value.Type.LONG;
+        if(object instanceof Float)
+            return Value.Type.FLOAT;
+        if(object instanceof Double)
+            return Value.Type.DOUBLE;
+        if(object instanceof java.math.BigDecimal)
+            return Value.Type.DECIMAL;
+        if(object instanceof java.nio.ByteBuffer)
+            return Value.Type.BINARY;
+        if(object instanceof Map)
+            return Value.Type.MAP;
+        return Value.Type.ARRAY;
+    }
+
+    public static QueryResult getStream(Document... documents) {
+        return getStream(null, Arrays.asList(documents));
+    }
+
+    public static QueryResult getStream(Document plan, List<Document> documents) {
+        QueryResult stream = mock(QueryResult.class);
+        when(stream.iterator()).thenAnswer(i -> documents.iterator());
+        when(stream.spliterator()).thenAnswer(i -> documents.spliterator());
+        doAnswer(i -> {
+            documents.forEach(i.getArgument(0));
+            return null;
+        }).when(stream).forEach(any());
+        when(stream.getQueryPlan()).thenReturn(plan);
+        return stream;
+    }
+
+    public static void returnDocuments(DocumentStore store, Document... documents) {
+        when(store.find(any(Query.class))).thenAnswer(i -> getStream(documents));
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.ojai.types.ODate;
+import org.ojai.types.OTime;
+import org.ojai.types.OTimestamp;
+
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+public class OjaiTypeMappingUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+
+    @Test
+    public void nativeTypesAreWrittenTest() {
+        Event event = new Event();
+        event.date = new Date();
+        event.instant = Instant.now();
+        event.localDateTime = LocalDateTime.now();
+        event.localDate = LocalDate.now();
+        event.localTime = LocalTime.now();
+        event.amount = new BigDecimal("12.3456789012345678901234567890");
+
+        Map json = converter.toJson(event);
+
+        Assert.assertTrue(json.get("date") instanceof OTimestamp);
+        Assert.assertTrue(json.get("instant") instanceof OTimestamp);
+        Assert.assertTrue(json.get("localDateTime") instanceof OTimestamp);
+        Assert.assertTrue(json.get("localDate") instanceof ODate);
+        Assert.assertTrue(json.get("localTime") instanceof OTime);
+        Assert.assertEquals(event.amount, json.get("amount"));
+        Assert.assertEquals(event.amount,
+                converter.toObject(Collections.singletonMap("amount", json.get("amount")), Event.class).amount);
+    }
+
+    @Test
+    public void valuesRoundTripTest() {
+        long millis = 1546345530123L;
+        Event event = new Event();
+        event.date = new Date(millis);
+        event.instant = Instant.ofEpochMilli(millis);
+        event.localDateTime = LocalDateTime.of(2019, 1, 1, 12, 25, 30, 123000000);
+        event.localDate = LocalDate.of(2019, 1, 1);
+        event.localTime = LocalTime.of(10, 15, 30, 123000000);
+        event.sqlDate = java.sql.Date.valueOf("2019-01-01");
+        event.sqlTime = Time.valueOf("10:15:30");
+        event.sqlTimestamp = new Timestamp(millis);
+        event.amount = new BigDecimal("12.3456789012345678901234567890");
+
+        Map json = converter.toJson(event);
+
+        Assert.assertTrue(json.get("sqlDate") instanceof ODate);
+        Assert.assertTrue(json.get("sqlTime") instanceof OTime);
+        Assert.assertTrue(json.get("sqlTimestamp") instanceof OTimestamp);
+
+        Event parsed = converter.toObject(json, Event.class);
+
+        Assert.assertEquals(event.date, parsed.date);
+        Assert.assertEquals(event.instant, parsed.instant);
+        Assert.assertEquals(event.localDateTime, parsed.localDateTime);
+        Assert.assertEquals(event.localDate, parsed.localDate);
+        Assert.assertEquals(event.localTime, parsed.localTime);
+        Assert.assertEquals(event.sqlDate, parsed.sqlDate);
+        Assert.assertEquals(event.sqlTime, parsed.sqlTime);
+        Assert.assertEquals(event.sqlTimestamp, parsed.sqlTimestamp);
+        Assert.assertEquals(event.amount, parsed.amount);
+    }
+
+    @Test
+    public void legacyValuesAreReadTest() {
+        long millis = 1546300800000L;
+        Map<String, Object> json = new HashMap<>();
+        json.put("date", millis);
+        json.put("instant", "2019-01-01T00:00:00Z");
+        json.put("localDateTime", "2019-01-01T00:00:00");
+        json.put("localDate", "2019-01-01");
+        json.put("localTime", "10:15:30");
+        json.put("amount", 1.5);
+
+        Event event = converter.toObject(json, Event.class);
+
+        Assert.assertEquals(new Date(millis), event.date);
+        Assert.assertEquals(Instant.ofEpochMilli(millis), event.instant);
+        Assert.assertEquals(LocalDateTime.of(2019, 1, 1, 0, 0), event.localDateTime);
+        Assert.assertEquals(LocalDate.of(2019, 1, 1), event.localDate);
+        Assert.assertEquals(LocalTime.of(10, 15, 30), event.localTime);
+        Assert.assertEquals(new BigDecimal("1.5"), event.amount);
+    }
+
+    public static class Event {
+
+        public Date date;
+        public Instant instant;
+        public LocalDateTime localDateTime;
+        public LocalDate localDate;
+        public LocalTime localTime;
+        public java.sql.Date sqlDate;
+        public Time sqlTime;
+        public Timestamp sqlTimestamp;
+        public BigDecimal amount;
+
+    }
+
+}
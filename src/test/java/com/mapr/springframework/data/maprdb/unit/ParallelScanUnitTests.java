@@ -0,0 +1,187 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.db.Table;
+import com.mapr.db.TabletInfo;
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.mapping.LazyFieldInterceptor;
+import com.mapr.springframework.data.maprdb.model.Product;
+import com.mapr.springframework.data.maprdb.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.ojai.Document;
+import org.ojai.store.Connection;
+import org.ojai.store.DocumentStore;
+import org.ojai.store.Query;
+import org.ojai.store.QueryCondition;
+import org.ojai.store.QueryResult;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ParallelScanUnitTests {
+
+    public DocumentStore store;
+    public Connection connection;
+    public Table table;
+    public MapRTemplate template;
+
+    @Before
+    public void init() throws Exception {
+        store = mock(DocumentStore.class);
+        table = mock(Table.class);
+        TabletInfo[] tabletInfos = { getTabletInfo(), getTabletInfo(), getTabletInfo() };
+        when(table.getTabletInfos()).thenReturn(tabletInfos);
+
+        connection = OjaiMocks.getConnection(store);
+        template = new MapRTemplate("test", connection, (java.sql.Connection) null) {
+            @Override
+            protected Table getTable(String tablePath) {
+                return table;
+            }
+        };
+    }
+
+    @Test
+    public void parallelScanTest() {
+        returnSplits(Arrays.asList(getUser("1", "a", 1), getUser("2", "b", 2)),
+                Collections.singletonList(getUser("3", "c", 3)), Collections.emptyList());
+
+        List<String> ids = template.parallelScan(null, User.class).map(User::getId).sorted()
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), ids);
+        verify(store, times(3)).find(any(Query.class));
+    }
+
+    @Test
+    public void parallelScanIsBoundedTest() {
+        returnSplits(Arrays.asList(getUser("1", "a", 1), getUser("2", "b", 2)),
+                Collections.singletonList(getUser("3", "c", 3)), Collections.emptyList());
+        AtomicInteger workers = new AtomicInteger();
+        template.setScanExecutor(task -> {
+            workers.incrementAndGet();
+            new Thread(task).start();
+        });
+
+        List<String> ids;
+        try (Stream<User> users = template.parallelScan(null, User.class, 2)) {
+            ids = users.map(User::getId).sorted().collect(Collectors.toList());
+        }
+
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), ids);
+        Assert.assertEquals(2, workers.get());
+        verify(store, times(3)).close();
+    }
+
+    @Test
+    public void rejectedParallelScanRunsInCallerTest() {
+        returnSplits(Arrays.asList(getUser("1", "a", 1), getUser("2", "b", 2)),
+                Collections.singletonList(getUser("3", "c", 3)), Collections.emptyList());
+        template.setScanExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+
+        List<String> ids = template.parallelScan(null, User.class).map(User::getId).collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), ids);
+        verify(store, times(3)).close();
+    }
+
+    @Test
+    public void splitsUseProjectionAndPostProcessingTest() {
+        List<Query> queries = Collections.synchronizedList(new ArrayList<>());
+        when(connection.newQuery()).thenAnswer(i -> {
+            Query query = mock(Query.class, RETURNS_SELF);
+            queries.add(query);
+            return query;
+        });
+        returnSplits(Collections.singletonList(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "p1", "name", "a"))),
+                Collections.singletonList(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "p2", "name", "b"))),
+                Collections.emptyList());
+
+        List<Product> products = template.parallelScan(null, Product.class).collect(Collectors.toList());
+
+        Assert.assertEquals(2, products.size());
+        products.forEach(p -> Assert.assertNotNull(LazyFieldInterceptor.find(p)));
+        Assert.assertEquals(3, queries.size());
+        for(Query query : queries)
+            verify(query).select("_id", "name");
+    }
+
+    @Test
+    public void rejectedSplitsRunInCallerTest() {
+        returnSplits(Arrays.asList(getUser("1", "a", 1), getUser("2", "b", 2)),
+                Collections.singletonList(getUser("3", "c", 3)), Collections.emptyList());
+        template.setScanExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+
+        List<String> ids = Collections.synchronizedList(new ArrayList<>());
+        template.parallelScan(null, User.class, 1, split -> split.map(User::getId).forEach(ids::add));
+
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), ids);
+        verify(store, times(3)).close();
+    }
+
+    @Test
+    public void sortedParallelScanTest() {
+        returnSplits(Arrays.asList(getUser("1", "a", 1), getUser("4", "d", 5L), getUser("5", "e", 9.5)),
+                Arrays.asList(getUser("2", "b", 2L), getUser("3", "c", (short) 3), getUser("6", "f", 10f)),
+                Collections.emptyList());
+
+        List<String> ids = template.parallelScan(null, Sort.by("age"), User.class).map(User::getId)
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6"), ids);
+    }
+
+    @Test
+    public void sortedParallelScanByStringTest() {
+        returnSplits(Arrays.asList(getUser("1", "zoe", 1), getUser("2", "adam", 1)),
+                Collections.singletonList(getUser("3", "mia", 1)),
+                Collections.singletonList(getUser("4", null, 1)));
+
+        List<String> ids = template.parallelScan(null, Sort.by(Sort.Direction.DESC, "name"), User.class)
+                .map(User::getId).collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList("1", "3", "2", "4"), ids);
+    }
+
+    @Test
+    public void sortedParallelScanClosesSplitsTest() {
+        returnSplits(Collections.singletonList(getUser("1", "a", 1)), Collections.emptyList(), Collections.emptyList());
+
+        template.parallelScan(null, Sort.by("age"), User.class).close();
+
+        verify(store).close();
+    }
+
+    @SafeVarargs
+    public final void returnSplits(List<Document>... splits) {
+        QueryResult[] streams = Arrays.stream(splits).map(s -> OjaiMocks.getStream(null, s)).toArray(QueryResult[]::new);
+        when(store.find(any(Query.class))).thenReturn(streams[0], Arrays.copyOfRange(streams, 1, streams.length));
+    }
+
+    public Document getUser(String id, String name, Object age) {
+        return OjaiMocks.getDocument(name != null ? OjaiMocks.getJson("_id", id, "name", name, "age", age) :
+                OjaiMocks.getJson("_id", id, "age", age));
+    }
+
+    public TabletInfo getTabletInfo() {
+        TabletInfo tabletInfo = mock(TabletInfo.class);
+        when(tabletInfo.getCondition()).thenReturn(mock(QueryCondition.class));
+        return tabletInfo;
+    }
+
+}
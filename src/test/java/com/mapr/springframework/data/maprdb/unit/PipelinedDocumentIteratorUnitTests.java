@@ -0,0 +1,101 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.PipelinedDocumentIterator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.ojai.Document;
+import org.ojai.DocumentStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.*;
+
+public class PipelinedDocumentIteratorUnitTests {
+
+    public final static int DOCUMENTS = 200;
+
+    public ExecutorService fetchExecutor;
+    public ExecutorService decoderExecutor;
+    public DocumentStream documentStream;
+
+    @Before
+    public void init() {
+        fetchExecutor = Executors.newSingleThreadExecutor();
+        decoderExecutor = Executors.newFixedThreadPool(4);
+
+        List<Document> documents = new ArrayList<>();
+        for(int i = 0; i < DOCUMENTS; i++) {
+            Document document = mock(Document.class);
+            when(document.getIdString()).thenReturn(String.valueOf(i));
+            documents.add(document);
+        }
+
+        documentStream = mock(DocumentStream.class);
+        when(documentStream.iterator()).thenReturn(documents.iterator());
+    }
+
+    @After
+    public void destroy() {
+        fetchExecutor.shutdownNow();
+        decoderExecutor.shutdownNow();
+    }
+
+    @Test
+    public void orderTest() {
+        AtomicBoolean closed = new AtomicBoolean();
+        PipelinedDocumentIterator<String> iterator = new PipelinedDocumentIterator<>(documentStream, this::decode,
+                8, fetchExecutor, decoderExecutor, () -> closed.set(true));
+
+        List<String> ids = new ArrayList<>();
+        iterator.forEachRemaining(ids::add);
+
+        Assert.assertEquals(DOCUMENTS, ids.size());
+        for(int i = 0; i < DOCUMENTS; i++)
+            Assert.assertEquals(String.valueOf(i), ids.get(i));
+        Assert.assertTrue(closed.get());
+    }
+
+    @Test
+    public void closeTest() throws InterruptedException {
+        AtomicBoolean closed = new AtomicBoolean();
+        PipelinedDocumentIterator<String> iterator = new PipelinedDocumentIterator<>(documentStream, this::decode,
+                2, fetchExecutor, decoderExecutor, () -> closed.set(true));
+
+        Assert.assertEquals("0", iterator.next());
+        iterator.close();
+
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertTrue(closed.get());
+
+        fetchExecutor.shutdown();
+        fetchExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        verify(documentStream).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeFailureTest() {
+        PipelinedDocumentIterator<String> iterator = new PipelinedDocumentIterator<>(documentStream, d -> {
+            throw new IllegalArgumentException();
+        }, 2, fetchExecutor, decoderExecutor, () -> {});
+
+        iterator.next();
+    }
+
+    public String decode(Document document) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return document.getIdString();
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.core.mapping.PrimitiveArrays;
+import com.mapr.springframework.data.maprdb.model.TimeSeries;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.ojai.Document;
+import org.ojai.store.Connection;
+import org.ojai.store.DocumentStore;
+import org.ojai.store.Query;
+
+import java.util.*;
+
+import static org.mockito.Mockito.*;
+
+public class PrimitiveArraysUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+
+    @Test
+    public void arraysAreStoredAsListsTest() {
+        Map json = converter.toJson(getSeries());
+
+        Assert.assertEquals(Arrays.asList(1000L, 2000L, 3000L), json.get("ts"));
+        Assert.assertEquals(Arrays.asList(0.5, 1.5, 2.5), json.get("values"));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), json.get("counts"));
+        Assert.assertEquals(Arrays.asList(0.25f), json.get("ratios"));
+        Assert.assertEquals(Arrays.asList((short) 7), json.get("flags"));
+        Assert.assertEquals(Arrays.asList(4, 5), ((Map) json.get("summary")).get("buckets"));
+    }
+
+    @Test
+    public void arraysAreReadBackTest() {
+        TimeSeries series = getSeries();
+        TimeSeries parsed = converter.toObject(converter.toJson(series), TimeSeries.class);
+
+        Assert.assertNotSame(series.getTimestamps(), parsed.getTimestamps());
+        Assert.assertArrayEquals(series.getTimestamps(), parsed.getTimestamps());
+        Assert.assertArrayEquals(series.getValues(), parsed.getValues(), 0);
+        Assert.assertArrayEquals(series.getCounts(), parsed.getCounts());
+        Assert.assertArrayEquals(series.getRatios(), parsed.getRatios(), 0);
+        Assert.assertArrayEquals(series.getFlags(), parsed.getFlags());
+        Assert.assertArrayEquals(series.getSummary().getBuckets(), parsed.getSummary().getBuckets());
+    }
+
+    @Test
+    public void storedListsAreReadTest() {
+        Map<String, Object> json = new HashMap<>();
+        json.put("_id", "1");
+        json.put("ts", Arrays.asList(1000, 2000L));
+        json.put("values", Arrays.asList(1, 2.5f));
+        json.put("counts", Collections.emptyList());
+        Map<String, Object> original = new HashMap<>(json);
+
+        TimeSeries parsed = converter.toObject(json, TimeSeries.class);
+
+        Assert.assertArrayEquals(new long[] { 1000L, 2000L }, parsed.getTimestamps());
+        Assert.assertArrayEquals(new double[] { 1, 2.5 }, parsed.getValues(), 0);
+        Assert.assertArrayEquals(new int[0], parsed.getCounts());
+        Assert.assertEquals(original, json);
+    }
+
+    @Test
+    public void arraysAreReadWithReaderTest() {
+        Assert.assertArrayEquals(new long[] { 1, 2, 3 },
+                (long[]) PrimitiveArrays.read(OjaiMocks.getReader(Arrays.asList(1, 2L, 3.0)), long[].class));
+        Assert.assertArrayEquals(new double[40],
+                (double[]) PrimitiveArrays.read(OjaiMocks.getReader(Collections.nCopies(40, 0)), double[].class), 0);
+        Assert.assertNull(PrimitiveArrays.read(OjaiMocks.getReader(Arrays.asList(1, "2")), int[].class));
+        Assert.assertNull(PrimitiveArrays.read(OjaiMocks.getReader("1"), int[].class));
+    }
+
+    @Test
+    public void storedArraysAreNotBoxedTest() throws Exception {
+        DocumentStore store = mock(DocumentStore.class);
+        Document document = OjaiMocks.getDocument(OjaiMocks.getJson("_id", "1", "ts", Arrays.asList(1000L, 2000L),
+                "values", Arrays.asList(0.5, 1.5), "summary", OjaiMocks.getJson("buckets", Arrays.asList(4, 5))));
+        OjaiMocks.returnDocuments(store, document);
+        MapRTemplate template = OjaiMocks.getTemplate(OjaiMocks.getConnection(store));
+
+        TimeSeries series = template.execute(mock(Query.class), TimeSeries.class).get(0);
+
+        Assert.assertArrayEquals(new long[] { 1000L, 2000L }, series.getTimestamps());
+        Assert.assertArrayEquals(new double[] { 0.5, 1.5 }, series.getValues(), 0);
+        Assert.assertArrayEquals(new int[] { 4, 5 }, series.getSummary().getBuckets());
+        verify(document, never()).asMap();
+    }
+
+    @Test
+    public void arraysAreSetOnDocumentTest() throws Exception {
+        DocumentStore store = mock(DocumentStore.class);
+        Connection connection = OjaiMocks.getConnection(store);
+        MapRTemplate template = OjaiMocks.getTemplate(connection);
+        TimeSeries series = getSeries();
+
+        template.save(series);
+
+        ArgumentCaptor<Map<String, Object>> json = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Document> document = ArgumentCaptor.forClass(Document.class);
+        verify(connection).newDocument(json.capture());
+        verify(store).insertOrReplace(document.capture());
+        Assert.assertFalse(json.getValue().containsKey("values"));
+        verify(document.getValue()).setArray("ts", series.getTimestamps());
+        verify(document.getValue()).setArray("values", series.getValues());
+        Assert.assertEquals(Arrays.asList(4, 5), ((Map) json.getValue().get("summary")).get("buckets"));
+    }
+
+    @Test
+    public void listViewTest() {
+        List<Number> list = PrimitiveArrays.asList(new int[] { 1, 2 });
+
+        Assert.assertEquals(Arrays.asList(1, 2), list);
+        Assert.assertArrayEquals(new long[] { 1L, 2L }, (long[]) PrimitiveArrays.toArray(list, long[].class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedArrayTest() {
+        PrimitiveArrays.asList(new char[] { 'a' });
+    }
+
+    public TimeSeries getSeries() {
+        TimeSeries.Summary summary = new TimeSeries.Summary();
+        summary.setBuckets(new int[] { 4, 5 });
+
+        TimeSeries series = new TimeSeries();
+        series.setId("1");
+        series.setTimestamps(new long[] { 1000L, 2000L, 3000L });
+        series.setValues(new double[] { 0.5, 1.5, 2.5 });
+        series.setCounts(new int[] { 1, 2, 3 });
+        series.setRatios(new float[] { 0.25f });
+        series.setFlags(new short[] { 7 });
+        series.setSummary(summary);
+        return series;
+    }
+
+}
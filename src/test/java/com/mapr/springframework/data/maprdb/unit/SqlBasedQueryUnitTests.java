@@ -0,0 +1,140 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRMetrics;
+import com.mapr.springframework.data.maprdb.core.MapROperations;
+import com.mapr.springframework.data.maprdb.core.MapRQueryLog;
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.core.QueryEvent;
+import com.mapr.springframework.data.maprdb.model.User;
+import com.mapr.springframework.data.maprdb.repository.support.MapRRepositoryFactory;
+import com.mapr.springframework.data.maprdb.unit.repository.UserSqlRepository;
+import com.mapr.springframework.data.maprdb.utils.UserUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.repository.query.QueryLookupStrategy.Key.CREATE_IF_NOT_FOUND;
+
+public class SqlBasedQueryUnitTests {
+
+    public MapROperations operations;
+    public UserSqlRepository repository;
+
+    public List<User> users;
+
+    @Before
+    public void init() {
+        users = UserUtils.getUsers();
+
+        operations = mock(MapRTemplate.class);
+        when(operations.executeSql(eq(User.class), anyString(), eq(User.class), any()))
+                .thenAnswer(i -> users.stream());
+        when(operations.executeSql(eq(User.class), anyString(), eq(long.class), any()))
+                .thenAnswer(i -> Stream.of(42L));
+
+        MapRRepositoryFactory factory = new MapRRepositoryFactory(operations);
+        factory.setQueryLookupStrategyKey(CREATE_IF_NOT_FOUND);
+
+        repository = factory.getRepository(UserSqlRepository.class);
+    }
+
+    @Test
+    public void streamReturnTest() {
+        Assert.assertEquals(users.size(), repository.findEnabled(true).count());
+
+        verify(operations).executeSql(User.class, "SELECT * FROM #{table} WHERE enabled = ?", User.class, true);
+    }
+
+    @Test
+    public void sliceReturnTest() {
+        Slice<User> slice = repository.findSorted(PageRequest.of(1, users.size() - 1));
+
+        Assert.assertTrue(slice.hasNext());
+        Assert.assertEquals(users.size() - 1, slice.getNumberOfElements());
+
+        verify(operations).executeSql(User.class, "SELECT * FROM #{table} ORDER BY name LIMIT ? OFFSET ?",
+                User.class, (long) users.size(), (long) users.size() - 1);
+    }
+
+    @Test
+    public void slicesShareQueryTest() {
+        repository.findSorted(PageRequest.of(0, 2));
+        repository.findSorted(PageRequest.of(3, 2));
+
+        verify(operations).executeSql(User.class, "SELECT * FROM #{table} ORDER BY name LIMIT ? OFFSET ?",
+                User.class, 3L, 0L);
+        verify(operations).executeSql(User.class, "SELECT * FROM #{table} ORDER BY name LIMIT ? OFFSET ?",
+                User.class, 3L, 6L);
+    }
+
+    @Test
+    public void interfaceProjectionTest() {
+        when(operations.executeSql(eq(User.class), anyString(), eq(Map.class), any()))
+                .thenAnswer(i -> Stream.of(getRow("john", 30), getRow("jane", 25)));
+
+        List<UserSqlRepository.UserSummary> summaries = repository.findSummaries(true);
+
+        Assert.assertEquals(2, summaries.size());
+        Assert.assertEquals("john", summaries.get(0).getName());
+        Assert.assertEquals(25, summaries.get(1).getAge());
+        verify(operations).executeSql(User.class, "SELECT name, age FROM #{table} WHERE enabled = ?", Map.class, true);
+    }
+
+    public Map<String, Object> getRow(String name, int age) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", name);
+        row.put("age", age);
+        return row;
+    }
+
+    @Test
+    public void scalarReturnTest() {
+        Assert.assertEquals(42L, repository.countOlderThan(30));
+    }
+
+    @Test
+    public void queriesAreMeasuredTest() {
+        List<String> queries = new ArrayList<>();
+        List<QueryEvent> events = new ArrayList<>();
+        MapRQueryLog queryLog = new MapRQueryLog(0, TimeUnit.MILLISECONDS).addListener(events::add);
+        when(operations.getQueryLog()).thenReturn(queryLog);
+        when(operations.getMetrics()).thenReturn(new MapRMetrics() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public void recordQuery(String repository, String method, long nanos) {
+                queries.add(repository + "." + method);
+            }
+        });
+        when(operations.executeSql(eq(User.class), anyString(), eq(long.class), any())).thenAnswer(i -> {
+            queryLog.log("sql", "/user", () -> i.getArgument(1), 1, 0, 0, 0, null);
+            return Stream.of(42L);
+        });
+
+        Assert.assertEquals(42L, repository.countOlderThan(30));
+
+        Assert.assertEquals(Collections.singletonList("UserSqlRepository.countOlderThan"), queries);
+        Assert.assertEquals("UserSqlRepository.countOlderThan", events.get(0).getMethod());
+        Assert.assertTrue(events.get(0).getParameters().containsValue(30));
+    }
+
+}
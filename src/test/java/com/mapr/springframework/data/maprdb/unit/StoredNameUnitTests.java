@@ -0,0 +1,78 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.mapping.MapREntityMetadata;
+import com.mapr.springframework.data.maprdb.core.mapping.MapRJsonConverter;
+import com.mapr.springframework.data.maprdb.model.Event;
+import com.mapr.springframework.data.maprdb.model.Profile;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class StoredNameUnitTests {
+
+    public MapRJsonConverter converter = new MapRJsonConverter();
+    public MapREntityMetadata metadata = MapREntityMetadata.get(Event.class);
+
+    @Test
+    public void storedNamesAreUsedForReadAndWriteTest() {
+        Event.Source source = new Event.Source();
+        source.setHost("host");
+        Event.Attribute attribute = new Event.Attribute();
+        attribute.setKey("key");
+        attribute.setValue("value");
+
+        Event event = new Event();
+        event.setId("1");
+        event.setType("click");
+        event.setSource(source);
+        event.setAttributes(Collections.singletonList(attribute));
+
+        Map json = converter.toJson(event);
+
+        Assert.assertEquals("1", json.get("_id"));
+        Assert.assertEquals("click", json.get("t"));
+        Assert.assertEquals(Collections.singletonMap("h", "host"), json.get("s"));
+        Assert.assertFalse(json.containsKey("type"));
+
+        Event parsed = converter.toObject(json, Event.class);
+
+        Assert.assertEquals("click", parsed.getType());
+        Assert.assertEquals("host", parsed.getSource().getHost());
+        Assert.assertEquals("key", parsed.getAttributes().get(0).getKey());
+        Assert.assertEquals("value", parsed.getAttributes().get(0).getValue());
+    }
+
+    @Test
+    public void storedNameTest() {
+        Assert.assertEquals("_id", metadata.getStoredName("id"));
+        Assert.assertEquals("t", metadata.getStoredName("type"));
+        Assert.assertEquals("s.h", metadata.getStoredName("source.host"));
+        Assert.assertEquals("a.k", metadata.getStoredName("attributes.key"));
+        Assert.assertEquals("a.value", metadata.getStoredName("attributes.value"));
+        Assert.assertEquals("unknown.field", metadata.getStoredName("unknown.field"));
+    }
+
+    @Test
+    public void jacksonNamesAreStoredNamesTest() {
+        MapREntityMetadata profile = MapREntityMetadata.get(Profile.class);
+
+        Assert.assertEquals("_id", profile.getStoredName("id"));
+        Assert.assertEquals("n", profile.getStoredName("name"));
+        Assert.assertEquals("b", profile.getStoredName("biography"));
+        Assert.assertEquals("d", profile.getStoredName("displayName"));
+        Assert.assertEquals("addresses.c", profile.getStoredName("addresses.city"));
+        Assert.assertEquals(Sort.by(Sort.Order.asc("n"), Sort.Order.desc("addresses.c")),
+                profile.getStoredSort(Sort.by(Sort.Order.asc("name"), Sort.Order.desc("addresses.city"))));
+    }
+
+    @Test
+    public void storedSortTest() {
+        Sort sort = metadata.getStoredSort(Sort.by(Sort.Order.desc("type"), Sort.Order.asc("source.host")));
+
+        Assert.assertEquals(Sort.by(Sort.Order.desc("t"), Sort.Order.asc("s.h")), sort);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.mapr.springframework.data.maprdb.unit;
+
+import com.mapr.springframework.data.maprdb.core.MapRTemplate;
+import com.mapr.springframework.data.maprdb.model.Ticket;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.ojai.Document;
+import org.ojai.Value;
+import org.ojai.store.DocumentMutation;
+import org.ojai.store.DocumentStore;
+import org.ojai.store.QueryCondition;
+import org.ojai.store.exceptions.DocumentExistsException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class VersioningUnitTests {
+
+    public DocumentStore store;
+    public MapRTemplate template;
+
+    @Before
+    public void init() throws Exception {
+        store = mock(DocumentStore.class);
+        template = OjaiMocks.getTemplate(OjaiMocks.getConnection(store));
+    }
+
+    @Test
+    public void newEntityIsInsertedTest() {
+        Ticket ticket = getTicket();
+
+        Ticket saved = template.save(ticket);
+
+        ArgumentCaptor<Document> document = ArgumentCaptor.forClass(Document.class);
+        verify(store).insert(document.capture());
+        Assert.assertEquals(1L, document.getValue().asMap().get("version"));
+        Assert.assertEquals(1L, ticket.getVersion());
+        Assert.assertEquals(1L, saved.getVersion());
+    }
+
+    @Test
+    public void insertedEntityIsReplacedOnSaveTest() {
+        Ticket ticket = getTicket();
+
+        template.insert(ticket);
+        Assert.assertEquals(1L, ticket.getVersion());
+
+        when(store.checkAndReplace(anyString(), any(QueryCondition.class), any(Document.class))).thenReturn(true);
+        template.save(ticket);
+
+        ArgumentCaptor<Document> document = ArgumentCaptor.forClass(Document.class);
+        verify(store).insert(any(Document.class));
+        verify(store).checkAndReplace(eq("1"), any(QueryCondition.class), document.capture());
+        Assert.assertEquals(2L, document.getValue().asMap().get("version"));
+        Assert.assertEquals(2L, ticket.getVersion());
+    }
+
+    @Test
+    public void existingEntityOnInsertIsConflictTest() {
+        doThrow(DocumentExistsException.class).when(store).insert(any(Document.class));
+
+        try {
+            template.save(getTicket());
+            Assert.fail();
+        } catch (OptimisticLockingFailureException ex) {
+            verify(store, never()).checkAndReplace(anyString(), any(QueryCondition.class), any(Document.class));
+        }
+    }
+
+    @Test
+    public void concurrentModificationIsConflictTest() {
+        Ticket ticket = getTicket();
+        ticket.setVersion(3);
+        when(store.checkAndReplace(anyString(), any(QueryCondition.class), any(Document.class))).thenReturn(false);
+
+        try {
+            template.save(ticket);
+            Assert.fail();
+        } catch (OptimisticLockingFailureException ex) {
+            Assert.assertEquals(3L, ticket.getVersion());
+        }
+    }
+
+    @Test
+    public void trackedEntityIsMutatedTest() {
+        template.setChangeTrackingEnabled(true);
+        when(store.findById("1")).thenReturn(OjaiMocks.getDocument(OjaiMocks.getJson("_id", "1",
+                "title", "old", "version", 3L)));
+        when(store.checkAndMutate(anyString(), any(QueryCondition.class), any(DocumentMutation.class))).thenReturn(true);
+
+        Ticket ticket = template.findById("1", Ticket.class).get();
+        ticket.setTitle("new");
+        template.save(ticket);
+
+        ArgumentCaptor<DocumentMutation> mutation = ArgumentCaptor.forClass(DocumentMutation.class);
+        verify(store).checkAndMutate(eq("1"), any(QueryCondition.class), mutation.capture());
+        verify(store, never()).checkAndReplace(anyString(), any(QueryCondition.class), any(Document.class));
+        verify(mutation.getValue()).setOrReplace(eq("title"), any(Value.class));
+        verify(mutation.getValue()).setOrReplace(eq("version"), any(Value.class));
+        Assert.assertEquals(4L, ticket.getVersion());
+    }
+
+    private Ticket getTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setId("1");
+        ticket.setTitle("title");
+        return ticket;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.mapr.springframework.data.maprdb.unit.repository;
+
+import com.mapr.springframework.data.maprdb.model.User;
+import com.mapr.springframework.data.maprdb.repository.MapRRepository;
+import com.mapr.springframework.data.maprdb.repository.SqlQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UserSqlRepository extends MapRRepository<User, String> {
+
+    @SqlQuery("SELECT * FROM #{table} WHERE enabled = ?")
+    Stream<User> findEnabled(boolean enabled);
+
+    @SqlQuery("SELECT * FROM #{table} ORDER BY name")
+    Slice<User> findSorted(Pageable pageable);
+
+    @SqlQuery("SELECT COUNT(*) FROM #{table} WHERE age > ?")
+    long countOlderThan(int age);
+
+    @SqlQuery("SELECT name, age FROM #{table} WHERE enabled = ?")
+    List<UserSummary> findSummaries(boolean enabled);
+
+    interface UserSummary {
+
+        String getName();
+
+        int getAge();
+
+    }
+
+}